@@ -0,0 +1,24 @@
+-- Rollover benchmark data - 1,000,000 MONTHLY budgets (100,000 users x 10), sab May 2024 mein khatam
+--
+-- Chalane ka tareeka (khaali budget_db pe):
+--   1. budget-service ek baar start karo (Flyway schema bana de), phir:
+--        psql -h localhost -p 5434 -U postgres -d budget_db -f bench/rollover-1m.sql
+--   2. curl -X POST 'http://localhost:8083/api/budgets/rollover?date=2024-06-10'
+--      response ka durationMs = run time, created = 1000000 (workers: budget.rollover.workers)
+--   3. Same call dobara - created = 0 (checkpoint / previous_budget_id unique index)
+--
+-- Numbers machine aur Postgres settings pe depend karte hain - apne setup pe naapo.
+
+INSERT INTO categories (name) VALUES ('Food'), ('Rent') ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO budgets (user_id, category_id, budget_amount, spent_amount, start_date, end_date, period)
+SELECT g % 100000, c.id, 100, 0, DATE '2024-05-01', DATE '2024-05-31', 'MONTHLY'
+FROM generate_series(1, 1000000) g
+JOIN categories c ON c.name = CASE WHEN g % 2 = 0 THEN 'Food' ELSE 'Rent' END;
+
+-- Rollover tracked users lock karta hai - sync pending na dikhe isliye synced_event_id 0
+INSERT INTO spend_tracked_users (user_id, synced_event_id)
+SELECT DISTINCT user_id, 0 FROM budgets
+ON CONFLICT (user_id) DO NOTHING;
+
+ANALYZE budgets;
@@ -1,11 +1,25 @@
 package com.finance.budget;
 
+import com.finance.common.CategoryDictionary;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * Budget Service
+ *
+ * @EnableFeignClients - transaction-service ka change feed padhne ke liye
+ * @EnableScheduling - SpendFeedConsumer ka polling
+ * @Import(CategoryDictionary) - finance-common module se (scan package ke bahar hai)
+ */
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableFeignClients
+@EnableScheduling
+@Import(CategoryDictionary.class)
 public class BudgetServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(BudgetServiceApplication.class, args);
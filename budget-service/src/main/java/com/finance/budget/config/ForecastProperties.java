@@ -0,0 +1,21 @@
+package com.finance.budget.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spend forecast settings (budget.forecast.*)
+ *
+ * alpha SpendLedger (feed increments, seeds) aur BudgetForecaster dono mein same hona chahiye -
+ * isliye ek hi jagah se. Badlo to startup pe purane forecasts naye alpha se reseed hote hain.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "budget.forecast")
+public class ForecastProperties {
+
+    private double alpha = 0.1;
+    private int maxBatch = 1000;
+    private int reseedChunkSize = 2000;
+}
@@ -1,11 +1,17 @@
 package com.finance.budget.controller;
 
 import com.finance.budget.dto.*;
+import com.finance.budget.service.BudgetBatchService;
+import com.finance.budget.service.BudgetEvaluationService;
+import com.finance.budget.service.BudgetRolloverService;
 import com.finance.budget.service.BudgetService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/budgets")
@@ -13,6 +19,9 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final BudgetRolloverService rolloverService;
+    private final BudgetEvaluationService evaluationService;
+    private final BudgetBatchService batchService;
 
     @PostMapping
     public ResponseEntity<BudgetResponse> createBudget(@RequestBody BudgetRequest request) {
@@ -109,6 +118,127 @@ public class BudgetController {
         }
     }
 
+    /**
+     * Period Rollover (manual trigger - nightly job bhi yahi chalata hai)
+     *
+     * POST /api/budgets/rollover?date=2024-02-01
+     *
+     * date se pehle khatam hue budgets ka agla period banta hai. Same date dobara chalao to
+     * checkpoint se resume; poora ho chuka ho to kuch nahi banta.
+     */
+    @PostMapping("/rollover")
+    public ResponseEntity<RolloverResult> rollover(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(rolloverService.rollover(date != null ? date : LocalDate.now()));
+    }
+
+    /**
+     * Batch Create
+     *
+     * POST /api/budgets/batch
+     * Body: [BudgetRequest, ...]
+     *
+     * Har item ka alag result (index = array position); galat items baaki batch nahi rokte
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBudgets(@RequestBody List<BudgetRequest> requests) {
+        try {
+            return ResponseEntity.ok(batchService.create(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Batch Upsert - same user + category + period ka live budget update, warna create
+     *
+     * PUT /api/budgets/batch
+     * Body: [BudgetRequest, ...]
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<?> upsertBudgets(@RequestBody List<BudgetRequest> requests) {
+        try {
+            return ResponseEntity.ok(batchService.upsert(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Batch Delete by IDs
+     *
+     * DELETE /api/budgets/batch
+     * Body: [101, 102, 103]
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteBudgets(@RequestBody List<Long> budgetIds) {
+        try {
+            return ResponseEntity.ok(batchService.delete(budgetIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Batch Forecast - projected spend aur exceed date, kai budgets ek call mein
+     *
+     * POST /api/budgets/forecast
+     * Body: [101, 102, 103]
+     */
+    @PostMapping("/forecast")
+    public ResponseEntity<?> forecast(@RequestBody List<Long> budgetIds) {
+        try {
+            return ResponseEntity.ok(budgetService.forecast(budgetIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Bulk Evaluation - saare active budgets, id order mein pages
+     *
+     * GET /api/budgets/evaluation?afterId=0&limit=1000
+     *
+     * Agla page afterId = nextAfterId se; nextAfterId null = khatam
+     */
+    @GetMapping("/evaluation")
+    public ResponseEntity<?> evaluatePage(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            return ResponseEntity.ok(evaluationService.evaluatePage(afterId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Bulk Evaluation - kai users ke active budgets ek call mein
+     *
+     * POST /api/budgets/evaluation/users
+     * Body: [1, 2, 3]
+     */
+    @PostMapping("/evaluation/users")
+    public ResponseEntity<?> evaluateUsers(@RequestBody List<Long> userIds) {
+        try {
+            return ResponseEntity.ok(evaluationService.evaluateUsers(userIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Evaluator Run (manual trigger - scheduled evaluator bhi yahi chalata hai)
+     *
+     * POST /api/budgets/evaluation/run
+     *
+     * Sirf pichhle run ke baad badli statuses (transitions) lautata hai
+     */
+    @PostMapping("/evaluation/run")
+    public ResponseEntity<EvaluationRunResult> runEvaluation() {
+        return ResponseEntity.ok(evaluationService.evaluateAll());
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Budget Service is running!");
@@ -0,0 +1,17 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+/**
+ * Batch ki ek item ka nateeja - index request array mein position hai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private Integer index;
+    private Long budgetId;
+    private String result;  // CREATED, UPDATED, DELETED, NOT_FOUND, FAILED
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+
+    private Integer succeeded;
+    private Integer failed;
+    private List<BatchItemResult> items;
+}
@@ -0,0 +1,25 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sink tak jaane wala alert - window ke saare transitions ka final state, coalesced = kitne mile
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+
+    private Long budgetId;
+    private Long userId;
+    private String category;
+    private String status;          // WARNING ya EXCEEDED
+    private String previousStatus;  // pichhla alert (null = is budget ka pehla)
+    private BigDecimal budgetAmount;
+    private BigDecimal spentAmount;
+    private LocalDateTime detectedAt;
+    private Integer coalesced;
+}
@@ -0,0 +1,22 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Bulk evaluation ki ek row - BudgetResponse jaisa, bina dates ke
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetEvaluation {
+
+    private Long budgetId;
+    private Long userId;
+    private String category;
+    private BigDecimal budgetAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    private String status;  // SAFE, WARNING, EXCEEDED, ENDED (end_date nikal gayi)
+}
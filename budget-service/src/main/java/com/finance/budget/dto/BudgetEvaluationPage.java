@@ -0,0 +1,17 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Keyset page - agla page afterId = nextAfterId se; null matlab aur budgets nahi
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetEvaluationPage {
+
+    private List<BudgetEvaluation> items;
+    private Long nextAfterId;
+}
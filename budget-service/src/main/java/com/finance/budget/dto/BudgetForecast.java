@@ -0,0 +1,27 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Batch forecast ki ek row - projectedExceedDate null = endDate tak exceed nahi (ya already EXCEEDED)
+ * result NOT_FOUND = id ka budget nahi mila (baaki fields null)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetForecast {
+
+    private Long budgetId;
+    private Long userId;
+    private String category;
+    private BigDecimal budgetAmount;
+    private BigDecimal spentAmount;
+    private LocalDate endDate;
+    private BigDecimal dailyRunRate;
+    private BigDecimal projectedSpentAmount;
+    private LocalDate projectedExceedDate;
+    private String result;  // OK, NOT_FOUND
+}
@@ -16,5 +16,8 @@ public class BudgetResponse {
     private BigDecimal remainingAmount;
     private LocalDate startDate;
     private LocalDate endDate;
-    private String status;  // SAFE, WARNING, EXCEEDED
+    private String status;  // SAFE, WARNING, EXCEEDED, ENDED (end_date nikal gayi)
+    private BigDecimal dailyRunRate;
+    private BigDecimal projectedSpentAmount;    // endDate tak, isi run-rate se
+    private LocalDate projectedExceedDate;      // null = period mein exceed nahi (ya already EXCEEDED)
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pichhle evaluation ke baad budget ki status badli - previousStatus null = pehli baar evaluate hua
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusTransition {
+
+    private Long budgetId;
+    private Long userId;
+    private String category;
+    private String previousStatus;
+    private String status;
+    private BigDecimal budgetAmount;
+    private BigDecimal spentAmount;
+    private LocalDateTime evaluatedAt;
+}
@@ -0,0 +1,18 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * GET /api/transactions/changes ka response
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPage {
+
+    private List<TransactionChangeEvent> events;
+    private Long earliestSeq;
+    private Long latestSeq;
+}
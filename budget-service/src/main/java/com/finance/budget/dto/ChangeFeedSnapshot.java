@@ -0,0 +1,18 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Ek user ki daily buckets - eventId <= lastEventId wale events isme shaamil hain
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedSnapshot {
+
+    private Long userId;
+    private Long lastEventId;
+    private List<DailyBucket> daily;
+}
@@ -0,0 +1,21 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Snapshot ka ek din + category + type total (transaction-service ka RollupBucket)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBucket {
+
+    private LocalDate bucketDate;
+    private String category;
+    private String type;
+    private BigDecimal totalAmount;
+    private Long count;
+}
@@ -0,0 +1,19 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Ek evaluator run - evaluated = scan hue active budgets, transitions = sirf jinki status badli
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationRunResult {
+
+    private Long evaluated;
+    private Integer chunks;
+    private Long durationMs;
+    private List<BudgetStatusTransition> transitions;
+}
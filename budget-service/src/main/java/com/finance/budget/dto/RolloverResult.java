@@ -0,0 +1,20 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Ek rollover run - scanned = dekhe gaye due budgets, created = naye banaye budgets
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverResult {
+
+    private LocalDate runDate;
+    private Integer workers;
+    private Long scanned;
+    private Long created;
+    private Long durationMs;
+}
@@ -0,0 +1,28 @@
+package com.finance.budget.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * transaction-service ka change event - (user, date, category, type) pe signed delta
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChangeEvent {
+
+    private Long eventId;
+    private Long seq;
+    private Long userId;
+    private Long transactionId;
+    private String changeType;
+    private String type;
+    private String category;
+    private LocalDate transactionDate;
+    private BigDecimal amountDelta;
+    private Long countDelta;
+    private LocalDateTime occurredAt;
+}
@@ -19,7 +19,11 @@ public class Budget {
     @Column(nullable = false)
     private Long userId;
 
-    @Column(nullable = false)
+    /**
+     * DB mein categories dictionary ka id - API mein naam hi
+     */
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
 
     @Column(nullable = false, precision = 15, scale = 2)
@@ -36,5 +40,13 @@ public class Budget {
 
     @Enumerated(EnumType.STRING)
     private BudgetPeriod period;
+
+    /**
+     * Forecast EWMA state - spend feed SQL se hi badalta hai (SpendLedger), BudgetForecaster padhta hai
+     */
+    @Column(nullable = false)
+    private double forecastRate;
+
+    private LocalDate forecastAsOf;
 }
 
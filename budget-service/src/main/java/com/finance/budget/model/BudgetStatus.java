@@ -0,0 +1,42 @@
+package com.finance.budget.model;
+
+import java.time.LocalDate;
+
+/**
+ * Budget ki spend status - BudgetResponse, bulk evaluation aur transitions sab yahin se
+ * ENDED = end_date nikal chuki (ya roll ho gaya), spend jo bhi ho - iska alert nahi banta
+ */
+public enum BudgetStatus {
+    SAFE, WARNING, EXCEEDED, ENDED;
+
+    private static final BudgetStatus[] VALUES = values();
+
+    /**
+     * spent / budget ratio paise (long) mein compare - divide ya BigDecimal allocation nahi
+     * Purana logic ratio ko 2 decimals HALF_UP round karta tha, isliye
+     * 100% ka matlab ratio >= 0.995 aur 80% ka matlab ratio >= 0.795
+     */
+    public static BudgetStatus of(long spent, long budget) {
+        if (budget <= 0) {
+            return spent > 0 ? EXCEEDED : SAFE;
+        }
+        long scaledSpent = Math.multiplyExact(spent, 200);
+        if (scaledSpent >= Math.multiplyExact(budget, 199)) return EXCEEDED;
+        if (scaledSpent >= Math.multiplyExact(budget, 159)) return WARNING;
+        return SAFE;
+    }
+
+    /**
+     * Aaj end_date ke baad ho to ENDED, warna spend wali status
+     */
+    public static BudgetStatus of(long spent, long budget, LocalDate endDate, LocalDate today) {
+        if (endDate != null && today.isAfter(endDate)) {
+            return ENDED;
+        }
+        return of(spent, budget);
+    }
+
+    public static BudgetStatus ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,283 @@
+package com.finance.budget.repository;
+
+import com.finance.budget.config.ForecastProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spend Ledger
+ *
+ * Har user / category / din ka EXPENSE total aur budgets.spent_amount - dono ek saath,
+ * atomic SQL increments se. Budget ka spent kabhi transaction-service se nahi poocha jaata:
+ * feed ke deltas yahan aate hain, aur naya ya badla budget apna spent ledger ke sum se leta hai.
+ *
+ * Locking: spend_tracked_users ki user row. Feed apply, snapshot sync aur budget create/update
+ * teeno pehle ye row lock karte hain, isliye ek user ke ledger aur budgets pe ek waqt pe ek hi
+ * writer hota hai. Feed apply aur sync pehle checkpoint row lock karte hain, phir users.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpendLedger {
+
+    private static final String LOCK_USER_SQL =
+            "INSERT INTO spend_tracked_users (user_id) VALUES (?) ON CONFLICT (user_id) " +
+            "DO UPDATE SET budgets_version = spend_tracked_users.budgets_version + 1";
+
+    private static final String UPSERT_LEDGER_SQL =
+            "INSERT INTO spend_ledger (user_id, category_id, spend_date, amount) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, category_id, spend_date) " +
+            "DO UPDATE SET amount = spend_ledger.amount + EXCLUDED.amount";
+
+    /**
+     * spent + forecast EWMA ek saath. Delta din d ka: d forecast_as_of ke baad ho to rate pehle
+     * d tak decay hota hai, warna delta hi (as_of - d) din decay hoke judta hai - linear hai, isliye
+     * purani tareekh ke edits/deletes bhi exact.
+     */
+    private static final String INCREMENT_BUDGET_SQL =
+            "UPDATE budgets b SET spent_amount = COALESCE(b.spent_amount, 0) + v.amount, " +
+            "forecast_rate = CASE WHEN b.forecast_as_of IS NULL OR v.day > b.forecast_as_of " +
+            "  THEN b.forecast_rate * POWER(v.keep, COALESCE(v.day - b.forecast_as_of, 0)) + v.weighted " +
+            "  ELSE b.forecast_rate + v.weighted * POWER(v.keep, b.forecast_as_of - v.day) END, " +
+            "forecast_as_of = GREATEST(b.forecast_as_of, v.day) " +
+            "FROM (SELECT CAST(? AS BIGINT) AS id, CAST(? AS NUMERIC) AS amount, CAST(? AS DATE) AS day, " +
+            "  CAST(? AS DOUBLE PRECISION) AS weighted, CAST(? AS DOUBLE PRECISION) AS keep) v " +
+            "WHERE b.id = v.id";
+
+    private static final String RECOMPUTE_SPENT_SQL =
+            "UPDATE budgets b SET spent_amount = COALESCE((" +
+            "  SELECT SUM(l.amount) FROM spend_ledger l " +
+            "  WHERE l.user_id = b.user_id AND l.category_id = b.category_id " +
+            "  AND l.spend_date BETWEEN b.start_date AND b.end_date), 0) ";
+
+    private static final String RECOMPUTE_BUDGETS_SQL = RECOMPUTE_SPENT_SQL + "WHERE b.user_id = ?";
+
+    private static final String RECOMPUTE_BUDGET_IDS_SQL = RECOMPUTE_SPENT_SQL + "WHERE b.id = ANY(?)";
+
+    private static final String FORECAST_SEED_SQL =
+            "SELECT as_of, ? * SUM(amount * POWER(?, as_of - spend_date)) AS rate FROM (" +
+            "  SELECT amount, spend_date, MAX(spend_date) OVER () AS as_of FROM spend_ledger " +
+            "  WHERE user_id = ? AND category_id = ? AND spend_date BETWEEN ? AND ?) d " +
+            "GROUP BY as_of";
+
+    private static final String RESEED_USER_FORECASTS_SQL = reseedForecastsSql("user_id = ?");
+
+    private static final String RESEED_ID_FORECASTS_SQL = reseedForecastsSql("id = ANY(?)");
+
+    private static final String RESEED_SUCCESSOR_FORECASTS_SQL = reseedForecastsSql("previous_budget_id = ANY(?)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForecastProperties forecastProperties;
+
+    /**
+     * Budget write path - user ko track karo (pehli baar ho to sync pending), row lock karo
+     * aur budgets_version badhao (interval index isse reload karta hai)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockUser(Long userId) {
+        jdbcTemplate.update(LOCK_USER_SQL, userId);
+    }
+
+    /**
+     * Bulk budget writes (rollover) - lockUser jaisa, user_id order mein
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockUsers(Collection<Long> userIds) {
+        List<Object[]> rows = userIds.stream().distinct().sorted()
+                .map(userId -> new Object[]{userId})
+                .toList();
+        jdbcTemplate.batchUpdate(LOCK_USER_SQL, rows);
+    }
+
+    /**
+     * Tracked users lock karke unki sync state. Untracked users map mein nahi aate.
+     * user_id order mein lock - deadlock nahi.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, TrackedUser> lockTracked(Collection<Long> userIds) {
+        Map<Long, TrackedUser> tracked = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT user_id, synced_event_id, budgets_version FROM spend_tracked_users " +
+                "WHERE user_id = ANY(?) ORDER BY user_id FOR UPDATE",
+                (RowCallbackHandler) rs -> tracked.put(rs.getLong("user_id"), new TrackedUser(
+                        rs.getObject("synced_event_id", Long.class), rs.getLong("budgets_version"))),
+                (Object) userIds.toArray(new Long[0]));
+        return tracked;
+    }
+
+    public BigDecimal spentBetween(Long userId, int categoryId, LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM spend_ledger " +
+                "WHERE user_id = ? AND category_id = ? AND spend_date BETWEEN ? AND ?",
+                BigDecimal.class, userId, categoryId, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    /**
+     * Naye/badle budget ka forecast state ledger se (user row lock ke baad, spentBetween jaisa)
+     */
+    public ForecastState forecastSeed(Long userId, int categoryId, LocalDate startDate, LocalDate endDate) {
+        List<ForecastState> rows = jdbcTemplate.query(FORECAST_SEED_SQL,
+                (rs, rowNum) -> new ForecastState(rs.getDouble("rate"), rs.getObject("as_of", LocalDate.class)),
+                alpha(), 1 - alpha(), userId, categoryId, Date.valueOf(startDate), Date.valueOf(endDate));
+        return rows.isEmpty() ? new ForecastState(0, null) : rows.get(0);
+    }
+
+    /**
+     * Bulk budget writes ke baad - in budgets ka spent aur forecast ledger se (users pehle lockUsers se locked)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recomputeBudgets(Long[] budgetIds) {
+        jdbcTemplate.update(RECOMPUTE_BUDGET_IDS_SQL, (Object) budgetIds);
+        reseedForecasts(budgetIds);
+    }
+
+    /**
+     * In budgets ka forecast state ledger se, current alpha pe (users pehle lockUsers se locked)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reseedForecasts(Long[] budgetIds) {
+        jdbcTemplate.update(RESEED_ID_FORECASTS_SQL, alpha(), 1 - alpha(), budgetIds, budgetIds);
+    }
+
+    /**
+     * Rollover ke naye budgets (previousBudgetIds ke successors) ka forecast state
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reseedSuccessorForecasts(Long[] previousBudgetIds) {
+        jdbcTemplate.update(RESEED_SUCCESSOR_FORECASTS_SQL,
+                alpha(), 1 - alpha(), previousBudgetIds, previousBudgetIds);
+    }
+
+    /**
+     * Feed ke deltas - ledger upsert + matching budgets (id + din se) pe spent/forecast increment,
+     * dono batch mein
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Map<SpendKey, BigDecimal> ledgerDeltas, Map<BudgetDay, BigDecimal> budgetDeltas) {
+        List<Object[]> ledgerRows = new ArrayList<>(ledgerDeltas.size());
+        ledgerDeltas.forEach((key, amount) -> {
+            if (amount.signum() != 0) {
+                ledgerRows.add(new Object[]{key.getUserId(), key.getCategoryId(), Date.valueOf(key.getDate()), amount});
+            }
+        });
+        List<Object[]> budgetRows = new ArrayList<>(budgetDeltas.size());
+        double alpha = alpha();
+        budgetDeltas.forEach((key, amount) -> {
+            if (amount.signum() != 0) {
+                budgetRows.add(new Object[]{key.getBudgetId(), amount, Date.valueOf(key.getDate()),
+                        alpha * amount.doubleValue(), 1 - alpha});
+            }
+        });
+        if (!ledgerRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_LEDGER_SQL, ledgerRows);
+        }
+        if (!budgetRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_BUDGET_SQL, budgetRows);
+        }
+    }
+
+    /**
+     * Snapshot sync - user ka ledger poora badlo, synced_event_id set karo, budgets dobara gino
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceUser(Long userId, Map<SpendKey, BigDecimal> daily, long syncedEventId) {
+        jdbcTemplate.update("DELETE FROM spend_ledger WHERE user_id = ?", userId);
+        List<Object[]> rows = new ArrayList<>(daily.size());
+        daily.forEach((key, amount) -> rows.add(new Object[]{
+                userId, key.getCategoryId(), Date.valueOf(key.getDate()), amount}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_LEDGER_SQL, rows);
+        }
+        jdbcTemplate.update(
+                "UPDATE spend_tracked_users SET synced_event_id = ? WHERE user_id = ?", syncedEventId, userId);
+        jdbcTemplate.update(RECOMPUTE_BUDGETS_SQL, userId);
+        jdbcTemplate.update(RESEED_USER_FORECASTS_SQL, alpha(), 1 - alpha(), userId, userId);
+    }
+
+    public List<Long> pendingUsers(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM spend_tracked_users WHERE synced_event_id IS NULL ORDER BY user_id LIMIT ?",
+                Long.class, limit);
+    }
+
+    /**
+     * Feed mein gap - sab users snapshot se dobara sync honge
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int markAllPending() {
+        return jdbcTemplate.update("UPDATE spend_tracked_users SET synced_event_id = NULL");
+    }
+
+    public long checkpoint() {
+        return jdbcTemplate.queryForObject("SELECT last_seq FROM spend_feed_checkpoint WHERE id = 1", Long.class);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long lockCheckpoint() {
+        return jdbcTemplate.queryForObject(
+                "SELECT last_seq FROM spend_feed_checkpoint WHERE id = 1 FOR UPDATE", Long.class);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void saveCheckpoint(long lastSeq) {
+        jdbcTemplate.update("UPDATE spend_feed_checkpoint SET last_seq = ? WHERE id = 1", lastSeq);
+    }
+
+    private double alpha() {
+        return forecastProperties.getAlpha();
+    }
+
+    @Value
+    public static class TrackedUser {
+        Long syncedEventId;     // null = snapshot sync pending
+        long budgetsVersion;
+    }
+
+    /**
+     * Set-based forecast seed - budget ki range ke ledger din se EWMA shuru se. where budgets
+     * pe filter hai (andar aur bahar dono jagah lagta hai, isliye param do baar)
+     */
+    private static String reseedForecastsSql(String where) {
+        return "UPDATE budgets b SET forecast_rate = COALESCE(s.rate, 0), forecast_as_of = s.as_of " +
+                "FROM budgets t LEFT JOIN (" +
+                "  SELECT id, as_of, ? * SUM(amount * POWER(?, as_of - spend_date)) AS rate FROM (" +
+                "    SELECT x.id, l.amount, l.spend_date, MAX(l.spend_date) OVER (PARTITION BY x.id) AS as_of " +
+                "    FROM budgets x JOIN spend_ledger l ON l.user_id = x.user_id " +
+                "      AND l.category_id = x.category_id AND l.spend_date BETWEEN x.start_date AND x.end_date " +
+                "    WHERE x." + where + ") d " +
+                "  GROUP BY id, as_of) s ON s.id = t.id " +
+                "WHERE b.id = t.id AND t." + where;
+    }
+
+    @Value
+    public static class SpendKey {
+        Long userId;
+        int categoryId;
+        LocalDate date;
+    }
+
+    @Value
+    public static class BudgetDay {
+        long budgetId;
+        LocalDate date;
+    }
+
+    @Value
+    public static class ForecastState {
+        double rate;            // forecast_rate - bias correction BudgetForecaster karta hai
+        LocalDate asOf;         // null = abhi tak koi spend nahi
+    }
+}
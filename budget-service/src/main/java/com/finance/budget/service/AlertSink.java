@@ -0,0 +1,14 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.BudgetAlert;
+
+import java.util.List;
+
+/**
+ * Alerts ka delivery target (notification service, queue, ...). Ek call = ek batch.
+ * Exception throw karo to BudgetAlertPipeline batch ko agle flush mein dobara bhejta hai.
+ */
+public interface AlertSink {
+
+    void deliver(List<BudgetAlert> alerts);
+}
@@ -0,0 +1,238 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.BudgetAlert;
+import com.finance.budget.dto.BudgetStatusTransition;
+import com.finance.budget.model.BudgetStatus;
+import com.finance.common.CategoryDictionary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget Alert Pipeline
+ *
+ * Status transitions (spend feed refresh + scheduled evaluator) per budget `window` tak coalesce
+ * hote hain - WARNING phir EXCEEDED ek hi alert, WARNING phir wapas SAFE koi alert nahi. Window
+ * pehle transition se ginti hai, isliye lagatar kharch pe bhi alert latency window se zyada nahi badhti.
+ *
+ * Pending alerts budget_pending_alerts table mein - status update ki hi transaction mein upsert,
+ * isliye restart pe kuch nahi khota. Koi bhi instance drain kar sakta hai (FOR UPDATE SKIP LOCKED).
+ *
+ * Dedupe: budget ka sabse ooncha alerted level budget_alert_state mein `dedup-ttl` tak - sirf usse
+ * upar jaana (SAFE -> WARNING -> EXCEEDED) naya alert hai; 80%/100% ke aas-paas jhoolna dobara alert nahi.
+ *
+ * Delivery AlertSink ko batch-size ke batches mein, drain transaction ke andar. Sink fail ho to
+ * transaction rollback - rows pending mein hi rehti hain, agle flush mein retry. Metrics:
+ * budget.alerts.pending (queue depth), budget.alerts.latency (pehla transition -> sink),
+ * budget.alerts.delivered / suppressed / failed.
+ */
+@Slf4j
+@Service
+public class BudgetAlertPipeline implements BudgetTransitionListener {
+
+    private static final String UPSERT_PENDING_SQL =
+            "INSERT INTO budget_pending_alerts (budget_id, user_id, status, budget_amount, spent_amount, " +
+            "first_detected_at, evaluated_at, transitions) VALUES (?, ?, ?, ?, ?, ?, ?, 1) " +
+            "ON CONFLICT (budget_id) DO UPDATE SET status = EXCLUDED.status, " +
+            "budget_amount = EXCLUDED.budget_amount, spent_amount = EXCLUDED.spent_amount, " +
+            "evaluated_at = EXCLUDED.evaluated_at, " +
+            "transitions = budget_pending_alerts.transitions + 1";
+
+    // Sirf pending rows lock - budgets sirf padhe jaate hain (category ke liye)
+    private static final String DUE_SQL =
+            "SELECT p.budget_id, p.user_id, p.status, p.budget_amount, p.spent_amount, " +
+            "p.first_detected_at, p.transitions, b.category_id, s.alerted_status, s.alerted_at " +
+            "FROM budget_pending_alerts p " +
+            "JOIN budgets b ON b.id = p.budget_id " +
+            "LEFT JOIN budget_alert_state s ON s.budget_id = p.budget_id " +
+            "WHERE p.first_detected_at <= ? " +
+            "ORDER BY p.first_detected_at LIMIT ? " +
+            "FOR UPDATE OF p SKIP LOCKED";
+
+    private static final String DELETE_PENDING_SQL =
+            "DELETE FROM budget_pending_alerts WHERE budget_id = ?";
+
+    private static final String SAVE_ALERTED_SQL =
+            "INSERT INTO budget_alert_state (budget_id, alerted_status, alerted_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (budget_id) DO UPDATE SET alerted_status = EXCLUDED.alerted_status, " +
+            "alerted_at = EXCLUDED.alerted_at";
+
+    private static final String COUNT_PENDING_SQL = "SELECT COUNT(*) FROM budget_pending_alerts";
+
+    private final AlertSink sink;
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final Duration dedupTtl;
+    private final int batchSize;
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final Timer latency;
+    private final Counter delivered;
+    private final Counter suppressed;
+    private final Counter failed;
+
+    public BudgetAlertPipeline(AlertSink sink,
+                               JdbcTemplate jdbcTemplate,
+                               CategoryDictionary categoryDictionary,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${budget.alerts.window:30s}") Duration window,
+                               @Value("${budget.alerts.batch-size:500}") int batchSize,
+                               @Value("${budget.alerts.dedup-ttl:24h}") Duration dedupTtl) {
+        this.sink = sink;
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryDictionary = categoryDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.window = window;
+        this.dedupTtl = dedupTtl;
+        this.batchSize = batchSize;
+        Gauge.builder("budget.alerts.pending", pendingCount, AtomicLong::get)
+                .description("Window mein ruke budgets (queue depth, pichhle flush pe gina)")
+                .register(registry);
+        this.latency = Timer.builder("budget.alerts.latency")
+                .description("Pehle transition se sink delivery tak")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.delivered = Counter.builder("budget.alerts.delivered").register(registry);
+        this.suppressed = Counter.builder("budget.alerts.suppressed")
+                .description("Coalesce/dedupe se gire alerts").register(registry);
+        this.failed = Counter.builder("budget.alerts.failed")
+                .description("Sink failures (batch retry hota hai)").register(registry);
+    }
+
+    /**
+     * Status update ki transaction ke andar - pending row usi ke saath commit/rollback hoti hai
+     * ENDED (period khatam) ka alert nahi; pehle se pending alert waise hi deliver hota hai
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransitions(List<BudgetStatusTransition> transitions) {
+        List<Object[]> rows = new ArrayList<>(transitions.size());
+        for (BudgetStatusTransition t : transitions) {
+            if (BudgetStatus.ENDED.name().equals(t.getStatus())) {
+                continue;
+            }
+            Timestamp evaluatedAt = Timestamp.valueOf(t.getEvaluatedAt());
+            rows.add(new Object[]{t.getBudgetId(), t.getUserId(), t.getStatus(), t.getBudgetAmount(),
+                    t.getSpentAmount(), evaluatedAt, evaluatedAt});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_PENDING_SQL, rows);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${budget.alerts.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            Integer drained;
+            do {
+                drained = transactionTemplate.execute(tx -> drainBatch());
+            } while (drained != null && drained == batchSize);
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Alert flush failed, pending alerts will retry: {}", e.getMessage());
+        }
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+        pendingCount.set(count != null ? count : 0);
+    }
+
+    public long pendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Window poori kar chuke pending alerts ka ek batch - sink fail ho to exception,
+     * poori transaction rollback (rows pending mein hi)
+     * @return kitni pending rows uthayi
+     */
+    private int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DueAlert> due = jdbcTemplate.query(DUE_SQL, (rs, rowNum) -> new DueAlert(
+                new BudgetAlert(rs.getLong("budget_id"), rs.getLong("user_id"),
+                        categoryDictionary.nameOf(rs.getInt("category_id")), rs.getString("status"),
+                        rs.getString("alerted_status"), rs.getBigDecimal("budget_amount"),
+                        rs.getBigDecimal("spent_amount"), rs.getTimestamp("first_detected_at").toLocalDateTime(),
+                        rs.getInt("transitions")),
+                rs.getTimestamp("alerted_at") != null ? rs.getTimestamp("alerted_at").toLocalDateTime() : null),
+                Timestamp.valueOf(now.minus(window)), batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<BudgetAlert> alerts = new ArrayList<>(due.size());
+        int dropped = 0;
+        for (DueAlert alert : due) {
+            if (escalates(alert, now)) {
+                alerts.add(alert.alert);
+            } else {
+                dropped += alert.alert.getCoalesced();
+            }
+        }
+        if (!alerts.isEmpty()) {
+            sink.deliver(alerts);
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_PENDING_SQL,
+                due.stream().map(alert -> new Object[]{alert.alert.getBudgetId()}).toList());
+        Timestamp alertedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(SAVE_ALERTED_SQL, alerts.stream()
+                .map(alert -> new Object[]{alert.getBudgetId(), alert.getStatus(), alertedAt})
+                .toList());
+
+        for (BudgetAlert alert : alerts) {
+            latency.record(Duration.between(alert.getDetectedAt(), now).toNanos(), TimeUnit.NANOSECONDS);
+            dropped += alert.getCoalesced() - 1;
+        }
+        delivered.increment(alerts.size());
+        suppressed.increment(dropped);
+        log.debug("Delivered {} budget alerts, dropped {} transitions", alerts.size(), dropped);
+        return due.size();
+    }
+
+    /**
+     * Pichhla alerted level dedup-ttl se purana ho to bhool jao
+     */
+    private boolean escalates(DueAlert due, LocalDateTime now) {
+        BudgetStatus status = BudgetStatus.valueOf(due.alert.getStatus());
+        String previous = due.alert.getPreviousStatus();
+        if (previous != null && due.alertedAt.plus(dedupTtl).isBefore(now)) {
+            previous = null;
+            due.alert.setPreviousStatus(null);
+        }
+        return status != BudgetStatus.SAFE
+                && (previous == null || status.compareTo(BudgetStatus.valueOf(previous)) > 0);
+    }
+
+    /**
+     * alert.previousStatus = budget_alert_state ka level, alertedAt = kab deliver hua tha
+     */
+    private static final class DueAlert {
+        private final BudgetAlert alert;
+        private final LocalDateTime alertedAt;
+
+        private DueAlert(BudgetAlert alert, LocalDateTime alertedAt) {
+            this.alert = alert;
+            this.alertedAt = alertedAt;
+        }
+    }
+}
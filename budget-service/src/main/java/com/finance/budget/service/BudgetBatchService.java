@@ -0,0 +1,356 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.BatchItemResult;
+import com.finance.budget.dto.BatchResult;
+import com.finance.budget.dto.BudgetRequest;
+import com.finance.budget.model.BudgetPeriod;
+import com.finance.budget.repository.SpendLedger;
+import com.finance.common.CategoryDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Budget Batch Service
+ *
+ * Planning import jaise bade batches - create, upsert (user + category + period) aur delete by ids.
+ * Har item pehle validate hota hai; galat items FAILED result paate hain, baaki batch chalta hai.
+ *
+ * Valid items chunk-size ke chunks mein, ek chunk = ek DB transaction: users lock (SpendLedger,
+ * budgets_version bhi badhta hai), JDBC batch INSERT/UPDATE, phir spent + forecast ledger se
+ * set-based. Chunk DB pe fail ho to aadha-aadha karke dobara (bisect) - aakhir mein sirf wahi
+ * item FAILED jo akele bhi fail ho, baaki chunk likha jaata hai. Commit ke baad statuses
+ * BudgetEvaluationService se refresh (alerts ke liye).
+ */
+@Slf4j
+@Service
+public class BudgetBatchService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO budgets (user_id, category_id, budget_amount, spent_amount, start_date, end_date, period) " +
+            "VALUES (?, ?, ?, 0, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE budgets SET budget_amount = ?, start_date = ?, end_date = ? WHERE id = ?";
+
+    /**
+     * Upsert ka target - key ka live (roll na hua) budget, kai hon to sabse naya
+     */
+    private static final String LIVE_BUDGETS_SQL =
+            "SELECT DISTINCT ON (user_id, category_id, period) id, user_id, category_id, period FROM budgets " +
+            "WHERE user_id = ANY(?) AND NOT rolled_over AND period IS NOT NULL " +
+            "ORDER BY user_id, category_id, period, id DESC";
+
+    private static final String DELETE_SQL = "DELETE FROM budgets WHERE id = ANY(?) RETURNING id";
+
+    private static final String CREATED = "CREATED";
+    private static final String UPDATED = "UPDATED";
+    private static final String DELETED = "DELETED";
+    private static final String NOT_FOUND = "NOT_FOUND";
+    private static final String FAILED = "FAILED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final SpendLedger spendLedger;
+    private final BudgetEvaluationService evaluationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${budget.batch.max-items:50000}")
+    private int maxItems;
+
+    @Value("${budget.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    public BudgetBatchService(JdbcTemplate jdbcTemplate,
+                              CategoryDictionary categoryDictionary,
+                              SpendLedger spendLedger,
+                              BudgetEvaluationService evaluationService,
+                              PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryDictionary = categoryDictionary;
+        this.spendLedger = spendLedger;
+        this.evaluationService = evaluationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BatchResult create(List<BudgetRequest> requests) {
+        return write(requests, false);
+    }
+
+    /**
+     * Same user + category + period ka live budget ho to amount/dates update, warna naya
+     */
+    public BatchResult upsert(List<BudgetRequest> requests) {
+        return write(requests, true);
+    }
+
+    public BatchResult delete(List<Long> budgetIds) {
+        checkSize(budgetIds);
+        BatchItemResult[] results = new BatchItemResult[budgetIds.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < budgetIds.size(); i++) {
+            if (budgetIds.get(i) == null) {
+                results[i] = new BatchItemResult(i, null, FAILED, "budgetId is required");
+            } else {
+                valid.add(i);
+            }
+        }
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            deleteChunk(budgetIds, valid.subList(from, Math.min(from + chunkSize, valid.size())), results);
+        }
+        return summarize(results);
+    }
+
+    private BatchResult write(List<BudgetRequest> requests, boolean upsert) {
+        checkSize(requests);
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Item> accepted = new ArrayList<>();
+        Map<List<Object>, Item> byKey = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BudgetRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = new BatchItemResult(i, null, FAILED, error);
+                continue;
+            }
+            Item item = new Item(i, request, BudgetPeriod.valueOf(request.getPeriod().toUpperCase()));
+            if (upsert) {
+                // ek key do baar - aakhri item jeetta hai, warna dono insert ho jaate
+                Item earlier = byKey.put(List.of(request.getUserId(), request.getCategory(), item.period), item);
+                if (earlier != null) {
+                    earlier.superseded = true;
+                    results[earlier.index] = new BatchItemResult(earlier.index, null, FAILED,
+                            "Duplicate user/category/period in batch, item " + i + " applied");
+                }
+            }
+            accepted.add(item);
+        }
+        List<Item> valid = new ArrayList<>(accepted.size());
+        for (Item item : accepted) {
+            if (!item.superseded) {
+                valid.add(item);
+            }
+        }
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            writeItems(valid.subList(from, Math.min(from + chunkSize, valid.size())), upsert, results);
+        }
+        return summarize(results);
+    }
+
+    /**
+     * Ek transaction mein likho; fail ho to do hisson mein dobara, akela item fail ho tabhi FAILED
+     */
+    private void writeItems(List<Item> items, boolean upsert, BatchItemResult[] results) {
+        Long[] ids;
+        try {
+            ids = transactionTemplate.execute(tx -> writeChunk(items, upsert, results));
+        } catch (Exception e) {
+            if (items.size() == 1) {
+                Item item = items.get(0);
+                results[item.index] = new BatchItemResult(item.index, null, FAILED, e.getMessage());
+                return;
+            }
+            log.warn("Budget batch chunk of {} items failed, retrying in halves: {}", items.size(), e.getMessage());
+            int half = items.size() / 2;
+            writeItems(items.subList(0, half), upsert, results);
+            writeItems(items.subList(half, items.size()), upsert, results);
+            return;
+        }
+        refreshStatuses(ids);
+    }
+
+    /**
+     * Delete ka bhi wahi bisect - ek kharab id poore chunk ko FAILED nahi karti
+     */
+    private void deleteChunk(List<Long> budgetIds, List<Integer> chunk, BatchItemResult[] results) {
+        Long[] ids = chunk.stream().map(budgetIds::get).toArray(Long[]::new);
+        Set<Long> deleted;
+        try {
+            deleted = new LinkedHashSet<>(transactionTemplate.execute(tx ->
+                    jdbcTemplate.queryForList(DELETE_SQL, Long.class, (Object) ids)));
+        } catch (Exception e) {
+            if (chunk.size() == 1) {
+                int i = chunk.get(0);
+                results[i] = new BatchItemResult(i, budgetIds.get(i), FAILED, e.getMessage());
+                return;
+            }
+            log.warn("Budget batch delete of {} ids failed, retrying in halves: {}", chunk.size(), e.getMessage());
+            int half = chunk.size() / 2;
+            deleteChunk(budgetIds, chunk.subList(0, half), results);
+            deleteChunk(budgetIds, chunk.subList(half, chunk.size()), results);
+            return;
+        }
+        for (int i : chunk) {
+            Long id = budgetIds.get(i);
+            results[i] = deleted.contains(id)
+                    ? new BatchItemResult(i, id, DELETED, null)
+                    : new BatchItemResult(i, id, NOT_FOUND, "Budget not found with id: " + id);
+        }
+    }
+
+    /**
+     * @return chunk ke saare likhe budget ids
+     */
+    private Long[] writeChunk(List<Item> chunk, boolean upsert, BatchItemResult[] results) {
+        List<Long> userIds = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            item.categoryId = categoryDictionary.register(item.request.getCategory());
+            userIds.add(item.request.getUserId());
+        }
+        spendLedger.lockUsers(userIds);
+
+        Map<List<Object>, Long> live = upsert ? liveBudgets(userIds) : Map.of();
+        List<Item> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Item item : chunk) {
+            item.budgetId = live.get(List.of(item.request.getUserId(), item.categoryId, item.period.name()));
+            item.created = item.budgetId == null;
+            if (item.created) {
+                inserts.add(item);
+            } else {
+                updates.add(new Object[]{item.request.getBudgetAmount(), Date.valueOf(item.request.getStartDate()),
+                        Date.valueOf(item.request.getEndDate()), item.budgetId});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            insert(inserts);
+        }
+        Long[] ids = new Long[chunk.size()];
+        for (int k = 0; k < chunk.size(); k++) {
+            Item item = chunk.get(k);
+            ids[k] = item.budgetId;
+            results[item.index] = new BatchItemResult(item.index, item.budgetId,
+                    item.created ? CREATED : UPDATED, null);
+        }
+        spendLedger.recomputeBudgets(ids);
+        return ids;
+    }
+
+    private void insert(List<Item> inserts) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BudgetRequest request = inserts.get(i).request;
+                        ps.setLong(1, request.getUserId());
+                        ps.setInt(2, inserts.get(i).categoryId);
+                        ps.setBigDecimal(3, request.getBudgetAmount());
+                        ps.setDate(4, Date.valueOf(request.getStartDate()));
+                        ps.setDate(5, Date.valueOf(request.getEndDate()));
+                        ps.setString(6, inserts.get(i).period.name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).budgetId = ((Number) generated.get(i).get("id")).longValue();
+        }
+    }
+
+    private Map<List<Object>, Long> liveBudgets(List<Long> userIds) {
+        Map<List<Object>, Long> live = new HashMap<>();
+        jdbcTemplate.query(LIVE_BUDGETS_SQL, (RowCallbackHandler) rs -> live.put(
+                        List.of(rs.getLong("user_id"), rs.getInt("category_id"), rs.getString("period")),
+                        rs.getLong("id")),
+                (Object) userIds.stream().distinct().toArray(Long[]::new));
+        return live;
+    }
+
+    private void refreshStatuses(Long[] budgetIds) {
+        try {
+            evaluationService.refreshBudgets(List.of(budgetIds));
+        } catch (Exception e) {
+            log.warn("Budget status refresh failed, scheduled evaluation will catch up: {}", e.getMessage());
+        }
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must not be empty");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items per batch");
+        }
+    }
+
+    private static String validate(BudgetRequest request) {
+        if (request == null) {
+            return "Budget is required";
+        }
+        if (request.getUserId() == null) {
+            return "userId is required";
+        }
+        if (request.getCategory() == null || request.getCategory().isBlank()) {
+            return "category is required";
+        }
+        if (request.getBudgetAmount() == null || request.getBudgetAmount().signum() < 0) {
+            return "budgetAmount must be zero or positive";
+        }
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            return "startDate and endDate are required";
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            return "endDate must not be before startDate";
+        }
+        if (request.getPeriod() == null) {
+            return "period is required";
+        }
+        try {
+            BudgetPeriod.valueOf(request.getPeriod().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Invalid period: " + request.getPeriod();
+        }
+        return null;
+    }
+
+    private static BatchResult summarize(BatchItemResult[] results) {
+        int succeeded = 0;
+        for (BatchItemResult result : results) {
+            if (!FAILED.equals(result.getResult()) && !NOT_FOUND.equals(result.getResult())) {
+                succeeded++;
+            }
+        }
+        return new BatchResult(succeeded, results.length - succeeded, List.of(results));
+    }
+
+    private static final class Item {
+        private final int index;
+        private final BudgetRequest request;
+        private final BudgetPeriod period;
+        private int categoryId;
+        private Long budgetId;
+        private boolean created;
+        private boolean superseded;
+
+        private Item(int index, BudgetRequest request, BudgetPeriod period) {
+            this.index = index;
+            this.request = request;
+            this.period = period;
+        }
+    }
+}
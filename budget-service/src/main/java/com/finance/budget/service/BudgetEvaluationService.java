@@ -0,0 +1,326 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.BudgetEvaluation;
+import com.finance.budget.dto.BudgetEvaluationPage;
+import com.finance.budget.dto.BudgetStatusTransition;
+import com.finance.budget.dto.EvaluationRunResult;
+import com.finance.budget.model.BudgetStatus;
+import com.finance.common.CategoryDictionary;
+import com.finance.common.Money;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget Evaluation Service
+ *
+ * Active (abhi roll na hue) budgets ki status bulk mein. Amounts SQL mein hi paise (BIGINT) ban ke
+ * aate hain aur chunk primitive arrays mein rehta hai - har budget pe na BigDecimal, na divide.
+ *
+ * Scheduled evaluator: id order mein keyset chunks padhta hai, har chunk bounded pool pe evaluate
+ * hota hai (queue bhari ho to reader khud chalata hai - memory mein kuch hi chunks). budgets.status
+ * pichhle run ki status hai; sirf badli hui rows update hoti hain aur wahi transitions emit hote hain.
+ * Update "status + amounts abhi bhi wahi?" pe conditional hai - beech mein spent badla ya doosre
+ * run/instance ne likh diya to row chhod do, agla run sambhal lega. Ek transition ek hi baar.
+ * Spend feed apne chhue budgets turant refresh karta hai - alerts ko scheduled run ka intezaar nahi.
+ * end_date nikal gayi to status ENDED (roll hone tak) - wo transition alert pipeline nahi uthati.
+ */
+@Slf4j
+@Service
+public class BudgetEvaluationService {
+
+    private static final String SELECT_SQL =
+            "SELECT id, user_id, category_id, " +
+            "CAST(ROUND(budget_amount * 100) AS BIGINT) AS budget_minor, " +
+            "CAST(ROUND(COALESCE(spent_amount, 0) * 100) AS BIGINT) AS spent_minor, end_date, status " +
+            "FROM budgets ";
+
+    private static final String CHUNK_SQL =
+            SELECT_SQL + "WHERE id > ? AND NOT rolled_over ORDER BY id LIMIT ?";
+
+    private static final String IDS_SQL =
+            SELECT_SQL + "WHERE id = ANY(?) AND NOT rolled_over ORDER BY id";
+
+    private static final String USERS_SQL =
+            SELECT_SQL + "WHERE user_id = ANY(?) AND NOT rolled_over ORDER BY id";
+
+    private static final String SAVE_STATUS_SQL =
+            "UPDATE budgets SET status = ?, status_changed_at = ? " +
+            "WHERE id = ? AND status IS NOT DISTINCT FROM ? " +
+            "AND CAST(ROUND(budget_amount * 100) AS BIGINT) = ? " +
+            "AND CAST(ROUND(COALESCE(spent_amount, 0) * 100) AS BIGINT) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final ObjectProvider<BudgetTransitionListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${budget.evaluation.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${budget.evaluation.max-page-size:5000}")
+    private int maxPageSize;
+
+    @Value("${budget.evaluation.max-users-per-request:500}")
+    private int maxUsersPerRequest;
+
+    public BudgetEvaluationService(JdbcTemplate jdbcTemplate,
+                                   CategoryDictionary categoryDictionary,
+                                   ObjectProvider<BudgetTransitionListener> listeners,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${budget.evaluation.workers:4}") int workers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryDictionary = categoryDictionary;
+        this.listeners = listeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Scheduled(fixedDelayString = "${budget.evaluation.interval-ms:300000}")
+    public void scheduledRun() {
+        try {
+            evaluateAll();
+        } catch (Exception e) {
+            log.error("Budget evaluation run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Saare active budgets - status save karo, transitions listeners ko aur result mein (id order)
+     */
+    public EvaluationRunResult evaluateAll() {
+        long started = System.currentTimeMillis();
+        List<Future<List<BudgetStatusTransition>>> pending = new ArrayList<>();
+        long afterId = 0;
+        long evaluated = 0;
+        int chunks = 0;
+        while (true) {
+            Chunk chunk = read(CHUNK_SQL, chunkSize, afterId, chunkSize);
+            if (chunk.size == 0) {
+                break;
+            }
+            pending.add(executor.submit(() -> saveTransitions(chunk)));
+            evaluated += chunk.size;
+            chunks++;
+            afterId = chunk.ids[chunk.size - 1];
+            if (chunk.size < chunkSize) {
+                break;
+            }
+        }
+        List<BudgetStatusTransition> transitions = new ArrayList<>();
+        try {
+            for (Future<List<BudgetStatusTransition>> result : pending) {
+                transitions.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Budget evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Budget evaluation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        long duration = System.currentTimeMillis() - started;
+        log.info("Budget evaluation: {} budgets in {} chunks, {} transitions, {} ms",
+                evaluated, chunks, transitions.size(), duration);
+        return new EvaluationRunResult(evaluated, chunks, duration, transitions);
+    }
+
+    /**
+     * Read-only keyset page - status save nahi hoti, transitions nahi banti
+     */
+    public BudgetEvaluationPage evaluatePage(long afterId, int limit) {
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        Chunk chunk = read(CHUNK_SQL, limit, afterId, limit);
+        Long nextAfterId = chunk.size == limit ? chunk.ids[chunk.size - 1] : null;
+        return new BudgetEvaluationPage(toEvaluations(chunk), nextAfterId);
+    }
+
+    public List<BudgetEvaluation> evaluateUsers(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("userIds must not be empty");
+        }
+        if (userIds.size() > maxUsersPerRequest) {
+            throw new IllegalArgumentException("At most " + maxUsersPerRequest + " users per request");
+        }
+        return toEvaluations(read(USERS_SQL, 64, (Object) userIds.toArray(new Long[0])));
+    }
+
+    /**
+     * Sirf ye budgets - spend feed ke apply ke baad (caller thread pe, pool nahi)
+     */
+    public List<BudgetStatusTransition> refreshBudgets(Collection<Long> budgetIds) {
+        if (budgetIds.isEmpty()) {
+            return List.of();
+        }
+        return saveTransitions(read(IDS_SQL, budgetIds.size(), (Object) budgetIds.toArray(new Long[0])));
+    }
+
+    /**
+     * Users ke saare active budgets - snapshot sync ke baad
+     */
+    public List<BudgetStatusTransition> refreshUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return saveTransitions(read(USERS_SQL, 64, (Object) userIds.toArray(new Long[0])));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Chunk read(String sql, int capacity, Object... args) {
+        Chunk chunk = new Chunk(capacity);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            String status = rs.getString("status");
+            chunk.add(rs.getLong("id"), rs.getLong("user_id"), rs.getInt("category_id"),
+                    rs.getLong("budget_minor"), rs.getLong("spent_minor"),
+                    rs.getDate("end_date").toLocalDate().toEpochDay(),
+                    status == null ? Chunk.NOT_EVALUATED : BudgetStatus.valueOf(status).ordinal());
+        }, args);
+        return chunk;
+    }
+
+    /**
+     * Badli status wali rows ek batch mein (ek transaction) - listeners bhi usi transaction mein,
+     * taaki pending alert status update ke saath hi commit ho
+     */
+    private List<BudgetStatusTransition> saveTransitions(Chunk chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        long today = now.toLocalDate().toEpochDay();
+        Timestamp changedAt = Timestamp.valueOf(now);
+        int[] changed = new int[chunk.size];
+        int count = 0;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < chunk.size; i++) {
+            BudgetStatus status = statusOf(chunk, i, today);
+            if (status.ordinal() == chunk.previous[i]) {
+                continue;
+            }
+            changed[count++] = i;
+            rows.add(new Object[]{status.name(), changedAt, chunk.ids[i], previousName(chunk, i),
+                    chunk.budget[i], chunk.spent[i]});
+        }
+        if (count == 0) {
+            return List.of();
+        }
+        int finalCount = count;
+        return transactionTemplate.execute(tx -> {
+            int[] updated = jdbcTemplate.batchUpdate(SAVE_STATUS_SQL, rows);
+            List<BudgetStatusTransition> transitions = new ArrayList<>();
+            for (int k = 0; k < finalCount; k++) {
+                int i = changed[k];
+                BudgetStatus status = statusOf(chunk, i, today);
+                // pehli evaluation SAFE (ya pehle se ENDED) nikli to koi khabar nahi
+                if (updated[k] == 0 || (chunk.previous[i] == Chunk.NOT_EVALUATED
+                        && (status == BudgetStatus.SAFE || status == BudgetStatus.ENDED))) {
+                    continue;
+                }
+                transitions.add(new BudgetStatusTransition(chunk.ids[i], chunk.userIds[i],
+                        categoryDictionary.nameOf(chunk.categories[i]), previousName(chunk, i), status.name(),
+                        Money.toBigDecimal(chunk.budget[i]), Money.toBigDecimal(chunk.spent[i]), now));
+            }
+            if (!transitions.isEmpty()) {
+                listeners.orderedStream().forEach(listener -> listener.onTransitions(transitions));
+            }
+            return transitions;
+        });
+    }
+
+    private List<BudgetEvaluation> toEvaluations(Chunk chunk) {
+        long today = LocalDate.now().toEpochDay();
+        List<BudgetEvaluation> items = new ArrayList<>(chunk.size);
+        for (int i = 0; i < chunk.size; i++) {
+            items.add(new BudgetEvaluation(chunk.ids[i], chunk.userIds[i],
+                    categoryDictionary.nameOf(chunk.categories[i]),
+                    Money.toBigDecimal(chunk.budget[i]), Money.toBigDecimal(chunk.spent[i]),
+                    Money.toBigDecimal(Math.subtractExact(chunk.budget[i], chunk.spent[i])),
+                    statusOf(chunk, i, today).name()));
+        }
+        return items;
+    }
+
+    /**
+     * BudgetStatus.of(spent, budget, endDate, today) jaisa, epoch days pe - LocalDate allocation nahi
+     */
+    private static BudgetStatus statusOf(Chunk chunk, int i, long today) {
+        return today > chunk.endDays[i] ? BudgetStatus.ENDED : BudgetStatus.of(chunk.spent[i], chunk.budget[i]);
+    }
+
+    private static String previousName(Chunk chunk, int i) {
+        return chunk.previous[i] == Chunk.NOT_EVALUATED ? null : BudgetStatus.ofOrdinal(chunk.previous[i]).name();
+    }
+
+    /**
+     * Budgets column-wise primitive arrays mein (amounts paise mein, end_date epoch day)
+     */
+    private static final class Chunk {
+        private static final int NOT_EVALUATED = -1;
+
+        private long[] ids;
+        private long[] userIds;
+        private int[] categories;
+        private long[] budget;
+        private long[] spent;
+        private long[] endDays;
+        private int[] previous;
+        private int size;
+
+        private Chunk(int capacity) {
+            int n = Math.max(capacity, 1);
+            ids = new long[n];
+            userIds = new long[n];
+            categories = new int[n];
+            budget = new long[n];
+            spent = new long[n];
+            endDays = new long[n];
+            previous = new int[n];
+        }
+
+        private void add(long id, long userId, int categoryId, long budgetMinor, long spentMinor, long endDay,
+                         int status) {
+            if (size == ids.length) {
+                int n = size * 2;
+                ids = Arrays.copyOf(ids, n);
+                userIds = Arrays.copyOf(userIds, n);
+                categories = Arrays.copyOf(categories, n);
+                budget = Arrays.copyOf(budget, n);
+                spent = Arrays.copyOf(spent, n);
+                endDays = Arrays.copyOf(endDays, n);
+                previous = Arrays.copyOf(previous, n);
+            }
+            ids[size] = id;
+            userIds[size] = userId;
+            categories[size] = categoryId;
+            budget[size] = budgetMinor;
+            spent[size] = spentMinor;
+            endDays[size] = endDay;
+            previous[size] = status;
+            size++;
+        }
+    }
+}
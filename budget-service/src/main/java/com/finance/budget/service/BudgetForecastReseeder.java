@@ -0,0 +1,89 @@
+package com.finance.budget.service;
+
+import com.finance.budget.config.ForecastProperties;
+import com.finance.budget.repository.SpendLedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Budget Forecast Reseeder
+ *
+ * budgets.forecast_rate jis alpha se bana hai wo budget_forecast_settings mein hai (V7 backfill = 0.1).
+ * Startup pe configured budget.forecast.alpha alag ho to saare active budgets ledger se naye alpha
+ * pe reseed hote hain - id order mein chunks, har chunk apni transaction mein users lock karke
+ * (feed apply jaisa), phir settings mein naya alpha. Beech mein crash ho to agla startup dobara karega.
+ */
+@Slf4j
+@Service
+public class BudgetForecastReseeder {
+
+    private static final double EPSILON = 1e-12;
+
+    private static final String CHUNK_SQL =
+            "SELECT id, user_id FROM budgets WHERE id > ? AND NOT rolled_over ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SpendLedger spendLedger;
+    private final ForecastProperties forecastProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BudgetForecastReseeder(JdbcTemplate jdbcTemplate,
+                                  SpendLedger spendLedger,
+                                  ForecastProperties forecastProperties,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.spendLedger = spendLedger;
+        this.forecastProperties = forecastProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reseedIfAlphaChanged() {
+        double alpha = forecastProperties.getAlpha();
+        Double seededWith = jdbcTemplate.queryForObject(
+                "SELECT alpha FROM budget_forecast_settings WHERE id = 1", Double.class);
+        if (seededWith != null && Math.abs(seededWith - alpha) < EPSILON) {
+            return;
+        }
+        log.info("Forecast alpha changed ({} -> {}), reseeding active budgets", seededWith, alpha);
+        long started = System.currentTimeMillis();
+        long budgets = reseedAll();
+        jdbcTemplate.update("UPDATE budget_forecast_settings SET alpha = ? WHERE id = 1", alpha);
+        log.info("Reseeded forecasts for {} budgets in {} ms", budgets, System.currentTimeMillis() - started);
+    }
+
+    private long reseedAll() {
+        int chunkSize = forecastProperties.getReseedChunkSize();
+        long afterId = 0;
+        long total = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>(chunkSize);
+            List<Long> userIds = new ArrayList<>(chunkSize);
+            jdbcTemplate.query(CHUNK_SQL, (RowCallbackHandler) rs -> {
+                ids.add(rs.getLong("id"));
+                userIds.add(rs.getLong("user_id"));
+            }, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
+                spendLedger.lockUsers(userIds);
+                spendLedger.reseedForecasts(ids.toArray(new Long[0]));
+            });
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.finance.budget.service;
+
+import com.finance.budget.config.ForecastProperties;
+import com.finance.budget.model.BudgetStatus;
+import com.finance.common.Money;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Budget Forecaster
+ *
+ * budgets.forecast_rate (EWMA, SpendLedger feed deltas pe O(1) update karta hai) se endDate tak ka
+ * projected spend aur exceed date. Sirf budget row ke columns - na ledger, na transactions.
+ *
+ * Rate aakhri poore din (kal) tak decay hota hai - bina kharch wale din bhi gine jaate hain. EWMA
+ * shuru mein zero se chalta hai, isliye 1 - (1 - alpha)^days se divide (bias correction) - period
+ * ke pehle kuch din bhi seedha average jaisa rate deta hai.
+ */
+@Component
+public class BudgetForecaster {
+
+    private final double keep;
+
+    public BudgetForecaster(ForecastProperties forecastProperties) {
+        double alpha = forecastProperties.getAlpha();
+        if (alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("budget.forecast.alpha must be between 0 and 1");
+        }
+        this.keep = 1 - alpha;
+    }
+
+    /**
+     * Amounts paise mein (Money.toMinor)
+     */
+    public Projection project(long spent, long budget, double rate, LocalDate asOf,
+                              LocalDate startDate, LocalDate endDate, LocalDate today) {
+        LocalDate lastFullDay = today.minusDays(1);
+        LocalDate evalDay = asOf != null && asOf.isAfter(lastFullDay) ? asOf : lastFullDay;
+        if (evalDay.isAfter(endDate)) {
+            evalDay = endDate;
+        }
+        long observedDays = ChronoUnit.DAYS.between(startDate, evalDay) + 1;
+        long daily = 0;
+        if (observedDays > 0 && rate > 0) {
+            long idleDays = asOf != null ? Math.max(0, ChronoUnit.DAYS.between(asOf, evalDay)) : 0;
+            double weight = 1 - Math.pow(keep, observedDays);
+            daily = Math.round(rate * Math.pow(keep, idleDays) / weight * 100);
+        }
+        long remainingDays = Math.max(0, ChronoUnit.DAYS.between(evalDay, endDate));
+        long projected = Math.addExact(spent, Math.multiplyExact(daily, remainingDays));
+
+        // EXCEEDED wahi threshold jo BudgetStatus.of (spent * 200 >= budget * 199)
+        LocalDate exceedDate = null;
+        if (daily > 0 && budget > 0 && BudgetStatus.of(spent, budget) != BudgetStatus.EXCEEDED) {
+            long threshold = -Math.floorDiv(-Math.multiplyExact(budget, 199), 200);
+            LocalDate day = evalDay.plusDays(-Math.floorDiv(-(threshold - spent), daily));
+            if (!day.isAfter(endDate)) {
+                exceedDate = day;
+            }
+        }
+        return new Projection(Money.toBigDecimal(daily), Money.toBigDecimal(projected), exceedDate);
+    }
+
+    @Value
+    public static class Projection {
+        BigDecimal dailyRunRate;
+        BigDecimal projectedSpentAmount;
+        LocalDate projectedExceedDate;
+    }
+}
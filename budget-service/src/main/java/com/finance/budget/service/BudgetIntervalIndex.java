@@ -0,0 +1,91 @@
+package com.finance.budget.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Budget Interval Index
+ *
+ * Per user, per category BudgetIntervals - "category C, date D kin budgets mein hai" bina
+ * findByUserIdAndCategory scan ke. Rolling WEEKLY/MONTHLY budgets ki list har period badhti hai,
+ * lookup phir bhi log n.
+ *
+ * Freshness: har budget write user ka spend_tracked_users.budgets_version badhata hai (usi row lock
+ * ke neeche). Caller wahi row lock karke version deta hai; cached version alag ho to user ke budgets
+ * DB se dobara (idx_budgets_user_category_dates) - doosre instance ke writes bhi isi se dikhte hain.
+ * Delete version nahi badhata: hata hua id kisi row se match nahi karta, increment no-op.
+ */
+@Slf4j
+@Component
+public class BudgetIntervalIndex {
+
+    private static final String LOAD_SQL =
+            "SELECT id, category_id, start_date, end_date FROM budgets WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, UserIntervals> users;
+
+    public BudgetIntervalIndex(JdbcTemplate jdbcTemplate,
+                               @Value("${budget.interval-index.max-users:100000}") long maxUsers,
+                               @Value("${budget.interval-index.idle-ttl:1h}") Duration idleTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * budgetsVersion = spend_tracked_users se, user row lock ke saath padha hua
+     * Load map ke bahar (compute ke andar JDBC map ki bin lock karta) - user row lock ki wajah se
+     * ek user ke liye ek waqt mein ek hi caller yahan hota hai, isliye get + put kaafi hai.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long[] covering(Long userId, long budgetsVersion, int categoryId, LocalDate date) {
+        UserIntervals current = users.getIfPresent(userId);
+        if (current == null || current.version != budgetsVersion) {
+            current = load(userId, budgetsVersion);
+            users.put(userId, current);
+        }
+        BudgetIntervals intervals = current.byCategory.get(categoryId);
+        return intervals != null ? intervals.covering((int) date.toEpochDay()) : new long[0];
+    }
+
+    private UserIntervals load(Long userId, long version) {
+        Map<Integer, List<long[]>> rows = new HashMap<>();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            rows.computeIfAbsent(rs.getInt("category_id"), k -> new ArrayList<>()).add(new long[]{
+                    rs.getLong("id"),
+                    rs.getObject("start_date", LocalDate.class).toEpochDay(),
+                    rs.getObject("end_date", LocalDate.class).toEpochDay()});
+        }, userId);
+        Map<Integer, BudgetIntervals> byCategory = new HashMap<>(rows.size() * 2);
+        rows.forEach((categoryId, list) -> byCategory.put(categoryId, new BudgetIntervals(list.toArray(new long[0][]))));
+        log.debug("Budget intervals loaded for user {} (version {}, {} categories)", userId, version, byCategory.size());
+        return new UserIntervals(version, byCategory);
+    }
+
+    private static final class UserIntervals {
+        private final long version;
+        private final Map<Integer, BudgetIntervals> byCategory;
+
+        private UserIntervals(long version, Map<Integer, BudgetIntervals> byCategory) {
+            this.version = version;
+            this.byCategory = byCategory;
+        }
+    }
+}
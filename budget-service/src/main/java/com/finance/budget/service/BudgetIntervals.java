@@ -0,0 +1,110 @@
+package com.finance.budget.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Ek user + category ke budgets ke [startDate, endDate] intervals (epoch days, dono inclusive)
+ *
+ * Intervals start se sorted; upar se maxEnd segment tree. "date D kin budgets mein hai":
+ * binary search se start <= D wala prefix, phir tree mein sirf wahi nodes utarte hain
+ * jinka maxEnd >= D hai - O(log n + k log n), k = matching budgets. Overlapping budgets bhi chalte hain.
+ *
+ * Immutable - budgets badlein to naya banta hai.
+ */
+final class BudgetIntervals {
+
+    private static final long[] NONE = new long[0];
+
+    private final long[] ids;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnd;
+
+    /**
+     * rows: {budgetId, startEpochDay, endEpochDay}
+     */
+    BudgetIntervals(long[][] rows) {
+        long[][] sorted = rows.clone();
+        Arrays.sort(sorted, Comparator.comparingLong((long[] row) -> row[1]).thenComparingLong(row -> row[0]));
+        int n = sorted.length;
+        this.ids = new long[n];
+        this.starts = new int[n];
+        this.ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = sorted[i][0];
+            starts[i] = (int) sorted[i][1];
+            ends[i] = (int) sorted[i][2];
+        }
+        this.maxEnd = new int[Math.max(1, 4 * n)];
+        if (n > 0) {
+            build(1, 0, n - 1);
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * day ko cover karne wale budget ids (start order mein)
+     */
+    long[] covering(int day) {
+        int last = lastStartAtOrBefore(day);
+        if (last < 0) {
+            return NONE;
+        }
+        Hits hits = new Hits();
+        collect(1, 0, ids.length - 1, last, day, hits);
+        return hits.count == 0 ? NONE : Arrays.copyOf(hits.ids, hits.count);
+    }
+
+    private int build(int node, int lo, int hi) {
+        if (lo == hi) {
+            return maxEnd[node] = ends[lo];
+        }
+        int mid = (lo + hi) >>> 1;
+        return maxEnd[node] = Math.max(build(2 * node, lo, mid), build(2 * node + 1, mid + 1, hi));
+    }
+
+    private void collect(int node, int lo, int hi, int last, int day, Hits hits) {
+        if (lo > last || maxEnd[node] < day) {
+            return;
+        }
+        if (lo == hi) {
+            hits.add(ids[lo]);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        collect(2 * node, lo, mid, last, day, hits);
+        collect(2 * node + 1, mid + 1, hi, last, day, hits);
+    }
+
+    private int lastStartAtOrBefore(int day) {
+        int lo = 0;
+        int hi = starts.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= day) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static final class Hits {
+        private long[] ids = new long[4];
+        private int count;
+
+        void add(long id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.RolloverResult;
+import com.finance.budget.repository.SpendLedger;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Budget Rollover Service
+ *
+ * endDate nikal chuke WEEKLY/MONTHLY/YEARLY budgets ka agla period budget - same category
+ * aur amount, start = purana end + 1. Kai period peeche ho to successor bhi due hota hai aur
+ * usi run mein (bada id, cursor ke aage) roll ho jaata hai.
+ *
+ * Set-based chunks: ek chunk = ek DB transaction (INSERT ... SELECT + source rows rolled_over).
+ * Workers user_id % workers se partitioned - ek user ke budgets ek hi worker ke paas.
+ * Har worker ka keyset cursor budget_rollover_checkpoint mein chunk ke saath commit hota hai,
+ * isliye crash/restart pe wahin se. Duplicate kabhi nahi: previous_budget_id unique hai.
+ */
+@Slf4j
+@Service
+public class BudgetRolloverService {
+
+    private static final String LOCK_CHECKPOINT_SQL =
+            "SELECT last_id, completed_at IS NOT NULL AS completed FROM budget_rollover_checkpoint " +
+            "WHERE run_date = ? AND workers = ? AND worker = ? FOR UPDATE";
+
+    private static final String CANDIDATES_SQL =
+            "SELECT id, user_id FROM budgets " +
+            "WHERE id > ? AND NOT rolled_over AND period IS NOT NULL AND end_date < ? AND MOD(user_id, ?) = ? " +
+            "ORDER BY id LIMIT ?";
+
+    /**
+     * Naye budget ka spent bhi yahin - spend ledger mein nayi range ka jo kharcha aa chuka hai
+     */
+    private static final String ROLLOVER_SQL =
+            "INSERT INTO budgets (user_id, category_id, budget_amount, spent_amount, start_date, end_date, " +
+            "period, previous_budget_id) " +
+            "SELECT n.user_id, n.category_id, n.budget_amount, " +
+            "  COALESCE((SELECT SUM(l.amount) FROM spend_ledger l WHERE l.user_id = n.user_id " +
+            "    AND l.category_id = n.category_id AND l.spend_date BETWEEN n.start_date AND n.end_date), 0), " +
+            "  n.start_date, n.end_date, n.period, n.id " +
+            "FROM (SELECT b.id, b.user_id, b.category_id, b.budget_amount, b.period, " +
+            "        b.end_date + 1 AS start_date, " +
+            "        CASE b.period " +
+            "          WHEN 'WEEKLY' THEN b.end_date + 7 " +
+            "          WHEN 'MONTHLY' THEN CAST(b.end_date + 1 + INTERVAL '1 month' AS DATE) - 1 " +
+            "          ELSE CAST(b.end_date + 1 + INTERVAL '1 year' AS DATE) - 1 " +
+            "        END AS end_date " +
+            "      FROM budgets b WHERE b.id = ANY(?)) n " +
+            "ON CONFLICT (previous_budget_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SpendLedger spendLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int workers;
+
+    @Value("${budget.rollover.chunk-size:5000}")
+    private int chunkSize;
+
+    public BudgetRolloverService(JdbcTemplate jdbcTemplate,
+                                 SpendLedger spendLedger,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${budget.rollover.workers:4}") int workers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.spendLedger = spendLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @Scheduled(cron = "${budget.rollover.cron:0 30 1 * * *}")
+    public void nightlyRollover() {
+        try {
+            rollover(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Budget rollover failed, next run resumes from checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * runDate se pehle khatam hue budgets roll karo. Same runDate dobara = checkpoint se resume
+     * (poora ho chuka ho to no-op).
+     */
+    public RolloverResult rollover(LocalDate runDate) {
+        long started = System.currentTimeMillis();
+        List<Future<long[]>> results = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int partition = worker;
+            results.add(executor.submit(() -> runWorker(runDate, partition)));
+        }
+        long scanned = 0;
+        long created = 0;
+        try {
+            for (Future<long[]> result : results) {
+                long[] counts = result.get();
+                scanned += counts[0];
+                created += counts[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Budget rollover interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Budget rollover failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        long duration = System.currentTimeMillis() - started;
+        log.info("Budget rollover for {}: {} due budgets, {} created, {} workers, {} ms",
+                runDate, scanned, created, workers, duration);
+        return new RolloverResult(runDate, workers, scanned, created, duration);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return {scanned, created} is run mein (resume se pehle wale chunks ke nahi)
+     */
+    private long[] runWorker(LocalDate runDate, int worker) {
+        jdbcTemplate.update(
+                "INSERT INTO budget_rollover_checkpoint (run_date, workers, worker) VALUES (?, ?, ?) " +
+                "ON CONFLICT DO NOTHING", Date.valueOf(runDate), workers, worker);
+        long[] totals = new long[2];
+        long[] chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> rolloverChunk(runDate, worker));
+            totals[0] += chunk[0];
+            totals[1] += chunk[1];
+        } while (chunk[0] > 0);
+        return totals;
+    }
+
+    /**
+     * Ek chunk - cursor lock, due budgets, users lock, INSERT ... SELECT, source done, cursor aage
+     */
+    private long[] rolloverChunk(LocalDate runDate, int worker) {
+        Date run = Date.valueOf(runDate);
+        Object[] checkpoint = jdbcTemplate.queryForObject(LOCK_CHECKPOINT_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong("last_id"), rs.getBoolean("completed")},
+                run, workers, worker);
+        if ((Boolean) checkpoint[1]) {
+            return new long[2];
+        }
+        List<Long> ids = new ArrayList<>(chunkSize);
+        List<Long> userIds = new ArrayList<>(chunkSize);
+        jdbcTemplate.query(CANDIDATES_SQL, rs -> {
+            ids.add(rs.getLong("id"));
+            userIds.add(rs.getLong("user_id"));
+        }, checkpoint[0], run, workers, worker, chunkSize);
+
+        if (ids.isEmpty()) {
+            jdbcTemplate.update("UPDATE budget_rollover_checkpoint SET completed_at = now() " +
+                    "WHERE run_date = ? AND workers = ? AND worker = ?", run, workers, worker);
+            return new long[2];
+        }
+        Long[] idArray = ids.toArray(new Long[0]);
+        // Feed apply ke saath serialize + interval index ko naya version
+        spendLedger.lockUsers(userIds);
+        int created = jdbcTemplate.update(ROLLOVER_SQL, (Object) idArray);
+        spendLedger.reseedSuccessorForecasts(idArray);
+        jdbcTemplate.update("UPDATE budgets SET rolled_over = true, status = 'ENDED', status_changed_at = now() " +
+                "WHERE id = ANY(?)", (Object) idArray);
+        jdbcTemplate.update("UPDATE budget_rollover_checkpoint SET last_id = ?, scanned = scanned + ?, " +
+                        "created = created + ? WHERE run_date = ? AND workers = ? AND worker = ?",
+                ids.get(ids.size() - 1), ids.size(), created, run, workers, worker);
+        return new long[]{ids.size(), created};
+    }
+}
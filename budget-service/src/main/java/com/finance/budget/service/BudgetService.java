@@ -1,21 +1,41 @@
 package com.finance.budget.service;
 
+import com.finance.budget.config.ForecastProperties;
 import com.finance.budget.dto.*;
 import com.finance.budget.model.*;
 import com.finance.budget.repository.BudgetRepository;
+import com.finance.budget.repository.SpendLedger;
+import com.finance.common.CategoryDictionary;
+import com.finance.common.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BudgetService {
 
+    private static final String FORECAST_OK = "OK";
+    private static final String FORECAST_NOT_FOUND = "NOT_FOUND";
+
     private final BudgetRepository budgetRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final SpendLedger spendLedger;
+    private final BudgetForecaster forecaster;
+    private final ForecastProperties forecastProperties;
 
+    /**
+     * spentAmount request se nahi - spend ledger (transaction change feed) se
+     */
+    @Transactional
     public BudgetResponse createBudget(BudgetRequest request) {
         Budget budget = new Budget();
         budget.setUserId(request.getUserId());
@@ -24,7 +44,7 @@ public class BudgetService {
         budget.setStartDate(request.getStartDate());
         budget.setEndDate(request.getEndDate());
         budget.setPeriod(BudgetPeriod.valueOf(request.getPeriod().toUpperCase()));
-        budget.setSpentAmount(BigDecimal.ZERO);
+        trackSpend(budget);
 
         Budget saved = budgetRepository.save(budget);
         return convertToResponse(saved);
@@ -52,18 +72,18 @@ public class BudgetService {
     }
 
     /**
-     * Update Budget spentAmount
+     * Update Budget - category ya dates badlein to spentAmount nayi range ke ledger sum se
      */
+    @Transactional
     public BudgetResponse updateBudget(Long budgetId, BudgetRequest request) {
         Budget budget = budgetRepository.findById(budgetId).orElseThrow(() -> new RuntimeException("Budget not found!"));;
 
             budget.setBudgetAmount(request.getBudgetAmount());
             budget.setCategory(request.getCategory());
             budget.setStartDate(request.getStartDate());
-            budget.setSpentAmount(request.getSpentAmount());
             budget.setEndDate(request.getEndDate());
             budget.setPeriod(BudgetPeriod.valueOf(request.getPeriod().toUpperCase()));
-            budget.setSpentAmount(BigDecimal.ZERO);
+            trackSpend(budget);
 
             Budget saved = budgetRepository.save(budget);
 
@@ -102,9 +122,69 @@ public class BudgetService {
         budgetRepository.deleteAll(budgets);
     }
 
+    /**
+     * Batch forecast - har budget ki row ke columns se hi, O(1) per budget
+     * Request order mein ek row per id; jo id nahi mila uski row result = NOT_FOUND
+     */
+    public List<BudgetForecast> forecast(List<Long> budgetIds) {
+        if (budgetIds == null || budgetIds.isEmpty()) {
+            throw new IllegalArgumentException("budgetIds must not be empty");
+        }
+        if (budgetIds.size() > forecastProperties.getMaxBatch()) {
+            throw new IllegalArgumentException("At most " + forecastProperties.getMaxBatch() + " budgets per request");
+        }
+        if (budgetIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("budgetIds must not contain null");
+        }
+        LocalDate today = LocalDate.now();
+        Map<Long, Budget> found = budgetRepository.findAllById(budgetIds)
+                .stream()
+                .collect(Collectors.toMap(Budget::getId, Function.identity()));
+        return budgetIds.stream()
+                .map(id -> {
+                    Budget budget = found.get(id);
+                    if (budget == null) {
+                        BudgetForecast missing = new BudgetForecast();
+                        missing.setBudgetId(id);
+                        missing.setResult(FORECAST_NOT_FOUND);
+                        return missing;
+                    }
+                    BudgetForecaster.Projection projection = project(budget, today);
+                    return new BudgetForecast(budget.getId(), budget.getUserId(), budget.getCategory(),
+                            budget.getBudgetAmount(), budget.getSpentAmount(), budget.getEndDate(),
+                            projection.getDailyRunRate(), projection.getProjectedSpentAmount(),
+                            projection.getProjectedExceedDate(), FORECAST_OK);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * User row lock ke baad ledger se spent aur forecast state - feed ka koi delta beech mein
+     * chhoot nahi sakta (lock ke pehle wale sum mein hain, baad wale is budget row pe increment honge)
+     */
+    private void trackSpend(Budget budget) {
+        int categoryId = categoryDictionary.register(budget.getCategory());
+        spendLedger.lockUser(budget.getUserId());
+        budget.setSpentAmount(spendLedger.spentBetween(
+                budget.getUserId(), categoryId, budget.getStartDate(), budget.getEndDate()));
+        SpendLedger.ForecastState forecast = spendLedger.forecastSeed(
+                budget.getUserId(), categoryId, budget.getStartDate(), budget.getEndDate());
+        budget.setForecastRate(forecast.getRate());
+        budget.setForecastAsOf(forecast.getAsOf());
+    }
+
+    private BudgetForecaster.Projection project(Budget budget, LocalDate today) {
+        return forecaster.project(Money.toMinor(budget.getSpentAmount()), Money.toMinor(budget.getBudgetAmount()),
+                budget.getForecastRate(), budget.getForecastAsOf(), budget.getStartDate(), budget.getEndDate(), today);
+    }
+
     private BudgetResponse convertToResponse(Budget budget) {
-        BigDecimal remaining = budget.getBudgetAmount().subtract(budget.getSpentAmount());
-        String status = getStatus(budget.getSpentAmount(), budget.getBudgetAmount());
+        long spent = Money.toMinor(budget.getSpentAmount());
+        long limit = Money.toMinor(budget.getBudgetAmount());
+        BigDecimal remaining = Money.toBigDecimal(Math.subtractExact(limit, spent));
+        LocalDate today = LocalDate.now();
+        String status = BudgetStatus.of(spent, limit, budget.getEndDate(), today).name();
+        BudgetForecaster.Projection projection = project(budget, today);
 
         return new BudgetResponse(
                 budget.getId(),
@@ -115,17 +195,10 @@ public class BudgetService {
                 remaining,
                 budget.getStartDate(),
                 budget.getEndDate(),
-                status
+                status,
+                projection.getDailyRunRate(),
+                projection.getProjectedSpentAmount(),
+                projection.getProjectedExceedDate()
         );
     }
-
-    private String getStatus(BigDecimal spent, BigDecimal budget) {
-        double percentage = spent.divide(budget, 2, BigDecimal.ROUND_HALF_UP)
-                .multiply(new BigDecimal(100))
-                .doubleValue();
-
-        if (percentage >= 100) return "EXCEEDED";
-        if (percentage >= 80) return "WARNING";
-        return "SAFE";
-    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.BudgetStatusTransition;
+
+import java.util.List;
+
+/**
+ * Status transitions ka consumer - BudgetEvaluationService har chunk ke transitions status update
+ * ki transaction ke andar deta hai; listener fail ho to status update bhi rollback
+ */
+public interface BudgetTransitionListener {
+
+    void onTransitions(List<BudgetStatusTransition> transitions);
+}
@@ -0,0 +1,49 @@
+package com.finance.budget.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.budget.dto.BudgetAlert;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * budget.alerts.sink=file - har alert ek JSON line, file mein append (poora batch ek write)
+ */
+@Component
+@ConditionalOnProperty(name = "budget.alerts.sink", havingValue = "file")
+public class FileAlertSink implements AlertSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileAlertSink(ObjectMapper objectMapper,
+                         @Value("${budget.alerts.file.path:budget-alerts.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void deliver(List<BudgetAlert> alerts) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (BudgetAlert alert : alerts) {
+                lines.append(objectMapper.writeValueAsString(alert)).append('\n');
+            }
+            Files.writeString(path, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Alert serialization failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Alert file write failed: " + path, e);
+        }
+    }
+}
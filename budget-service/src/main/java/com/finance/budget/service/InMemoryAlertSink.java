@@ -0,0 +1,43 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.BudgetAlert;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default sink - aakhri `capacity` alerts memory mein (local runs aur tests ke liye)
+ */
+@Component
+@ConditionalOnProperty(name = "budget.alerts.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryAlertSink implements AlertSink {
+
+    private final ArrayDeque<BudgetAlert> alerts = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryAlertSink(@Value("${budget.alerts.memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(List<BudgetAlert> batch) {
+        for (BudgetAlert alert : batch) {
+            if (alerts.size() == capacity) {
+                alerts.pollFirst();
+            }
+            alerts.addLast(alert);
+        }
+    }
+
+    public synchronized List<BudgetAlert> recent() {
+        return new ArrayList<>(alerts);
+    }
+
+    public synchronized void clear() {
+        alerts.clear();
+    }
+}
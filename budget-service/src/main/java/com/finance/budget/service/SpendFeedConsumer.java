@@ -0,0 +1,197 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.ChangeFeedPage;
+import com.finance.budget.dto.ChangeFeedSnapshot;
+import com.finance.budget.dto.DailyBucket;
+import com.finance.budget.dto.TransactionChangeEvent;
+import com.finance.budget.repository.SpendLedger;
+import com.finance.budget.repository.SpendLedger.BudgetDay;
+import com.finance.budget.repository.SpendLedger.SpendKey;
+import com.finance.budget.repository.SpendLedger.TrackedUser;
+import com.finance.common.CategoryDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spend Feed Consumer
+ *
+ * transaction-service ka change feed poll karke EXPENSE deltas SpendLedger pe apply karta hai.
+ * Update/delete (purani tareekh ke bhi) feed mein signed deltas hain - purane din ka minus,
+ * naye ka plus - isliye retroactive edits bhi sahi budgets tak pahunchte hain.
+ * Kaunse budgets (category + din) match karte hain ye BudgetIntervalIndex batata hai.
+ *
+ * Page ka apply + checkpoint ek hi DB transaction mein: crash ke baad wahi page dobara aata hai
+ * aur kuch double nahi hota. Naye tracked users (aur feed gap ke baad sab) pehle snapshot se
+ * sync hote hain; unke snapshot mein aa chuke events (eventId <= synced_event_id) skip.
+ *
+ * Kai instances chal sakte hain - checkpoint row lock + "fetch ke waqt wala checkpoint abhi bhi
+ * wahi hai?" check se ek page sirf ek baar lagta hai.
+ *
+ * Commit ke baad jin budgets ka spent badla unki status BudgetEvaluationService turant refresh
+ * karta hai (alerts isi se). Refresh fail ho to scheduled evaluator pakad leta hai.
+ */
+@Slf4j
+@Service
+public class SpendFeedConsumer {
+
+    private static final String EXPENSE = "EXPENSE";
+
+    private final TransactionServiceClient transactionClient;
+    private final SpendLedger spendLedger;
+    private final CategoryDictionary categoryDictionary;
+    private final BudgetIntervalIndex intervalIndex;
+    private final BudgetEvaluationService evaluationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${budget.spend.page-size:500}")
+    private int pageSize;
+
+    @Value("${budget.spend.max-pages-per-run:20}")
+    private int maxPagesPerRun;
+
+    @Value("${budget.spend.sync-batch:20}")
+    private int syncBatch;
+
+    public SpendFeedConsumer(TransactionServiceClient transactionClient,
+                             SpendLedger spendLedger,
+                             CategoryDictionary categoryDictionary,
+                             BudgetIntervalIndex intervalIndex,
+                             BudgetEvaluationService evaluationService,
+                             PlatformTransactionManager transactionManager) {
+        this.transactionClient = transactionClient;
+        this.spendLedger = spendLedger;
+        this.categoryDictionary = categoryDictionary;
+        this.intervalIndex = intervalIndex;
+        this.evaluationService = evaluationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${budget.spend.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            for (Long userId : spendLedger.pendingUsers(syncBatch)) {
+                syncUser(userId);
+            }
+            int pages = 0;
+            while (pages++ < maxPagesPerRun && applyNextPage()) {
+                // backlog khatam ya run ki limit tak
+            }
+        } catch (Exception e) {
+            log.warn("Spend feed poll failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return true agar poora page apply hua (aur events ho sakte hain)
+     */
+    public boolean applyNextPage() {
+        long after = spendLedger.checkpoint();
+        ChangeFeedPage page = transactionClient.getChanges(after, pageSize);
+        List<TransactionChangeEvent> events = page.getEvents();
+
+        // null = page nahi laga, warna jin budgets ka spent badla
+        Set<Long> touched = transactionTemplate.execute(status -> {
+            if (spendLedger.lockCheckpoint() != after) {
+                return null;   // doosre instance ne ye page le liya
+            }
+            if (page.getEarliestSeq() != null && page.getEarliestSeq() > after + 1
+                    && page.getLatestSeq() > after) {
+                int users = spendLedger.markAllPending();
+                log.warn("Spend feed gap after seq {} (earliest {}), resyncing {} users from snapshots",
+                        after, page.getEarliestSeq(), users);
+            }
+            if (events.isEmpty()) {
+                return null;
+            }
+            Set<Long> userIds = new HashSet<>();
+            events.forEach(event -> userIds.add(event.getUserId()));
+            Map<Long, TrackedUser> tracked = spendLedger.lockTracked(userIds);
+
+            Map<SpendKey, BigDecimal> ledgerDeltas = new LinkedHashMap<>();
+            for (TransactionChangeEvent event : events) {
+                TrackedUser user = tracked.get(event.getUserId());
+                if (!EXPENSE.equals(event.getType())
+                        || user == null
+                        || user.getSyncedEventId() == null
+                        || event.getEventId() <= user.getSyncedEventId()) {
+                    continue;
+                }
+                SpendKey key = new SpendKey(event.getUserId(),
+                        categoryDictionary.register(event.getCategory()), event.getTransactionDate());
+                ledgerDeltas.merge(key, event.getAmountDelta(), BigDecimal::add);
+            }
+            // din bhi saath - forecast run-rate ko delta ki tareekh chahiye
+            Map<BudgetDay, BigDecimal> budgetDeltas = new HashMap<>();
+            Set<Long> budgetIds = new HashSet<>();
+            ledgerDeltas.forEach((key, amount) -> {
+                long version = tracked.get(key.getUserId()).getBudgetsVersion();
+                for (long budgetId : intervalIndex.covering(key.getUserId(), version, key.getCategoryId(), key.getDate())) {
+                    budgetDeltas.merge(new BudgetDay(budgetId, key.getDate()), amount, BigDecimal::add);
+                    budgetIds.add(budgetId);
+                }
+            });
+            spendLedger.apply(ledgerDeltas, budgetDeltas);
+            spendLedger.saveCheckpoint(events.get(events.size() - 1).getSeq());
+            return budgetIds;
+        });
+        if (touched == null) {
+            return false;
+        }
+        log.debug("Spend feed applied {} events after seq {}", events.size(), after);
+        refreshStatuses(() -> evaluationService.refreshBudgets(touched));
+        return events.size() >= pageSize;
+    }
+
+    /**
+     * User ka ledger snapshot se. Snapshot fetch aur apply ke beech feed aage badha ho to
+     * snapshot chhod do (us beech ke events skip ho jaate) - agle run mein dobara.
+     */
+    public void syncUser(Long userId) {
+        long checkpoint = spendLedger.checkpoint();
+        ChangeFeedSnapshot snapshot = transactionClient.getSnapshot(userId);
+
+        Map<SpendKey, BigDecimal> daily = new LinkedHashMap<>();
+        for (DailyBucket bucket : snapshot.getDaily()) {
+            if (EXPENSE.equals(bucket.getType())) {
+                daily.merge(new SpendKey(userId, categoryDictionary.register(bucket.getCategory()),
+                        bucket.getBucketDate()), bucket.getTotalAmount(), BigDecimal::add);
+            }
+        }
+        Boolean synced = transactionTemplate.execute(status -> {
+            if (spendLedger.lockCheckpoint() != checkpoint) {
+                return false;
+            }
+            TrackedUser user = spendLedger.lockTracked(List.of(userId)).get(userId);
+            if (user == null || user.getSyncedEventId() != null) {
+                return false;   // already synced
+            }
+            spendLedger.replaceUser(userId, daily, snapshot.getLastEventId());
+            return true;
+        });
+        if (Boolean.TRUE.equals(synced)) {
+            log.info("Spend ledger synced for user {} ({} days, events up to {})",
+                    userId, daily.size(), snapshot.getLastEventId());
+            refreshStatuses(() -> evaluationService.refreshUsers(List.of(userId)));
+        }
+    }
+
+    private void refreshStatuses(Runnable refresh) {
+        try {
+            refresh.run();
+        } catch (Exception e) {
+            log.warn("Budget status refresh failed, scheduled evaluation will catch up: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.finance.budget.service;
+
+import com.finance.budget.dto.ChangeFeedPage;
+import com.finance.budget.dto.ChangeFeedSnapshot;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Feign Client - transaction-service ka change feed
+ *
+ * Sirf SpendFeedConsumer use karta hai; budget reads kabhi cross-service call nahi karte
+ */
+@FeignClient(name = "transaction-service")
+public interface TransactionServiceClient {
+
+    @GetMapping("/api/transactions/changes")
+    ChangeFeedPage getChanges(@RequestParam("after") long after, @RequestParam("limit") int limit);
+
+    @GetMapping("/api/transactions/changes/snapshot/{userId}")
+    ChangeFeedSnapshot getSnapshot(@PathVariable("userId") Long userId);
+}
@@ -0,0 +1,15 @@
+-- Baseline schema - ddl-auto: update se bana hua schema, ab versioned
+-- Purane databases pe Flyway isko baseline karke skip karta hai (baseline-version: 1)
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id            BIGINT         GENERATED BY DEFAULT AS IDENTITY,
+    user_id       BIGINT         NOT NULL,
+    category      VARCHAR(255)   NOT NULL,
+    budget_amount NUMERIC(15, 2) NOT NULL,
+    spent_amount  NUMERIC(15, 2),
+    start_date    DATE           NOT NULL,
+    end_date      DATE           NOT NULL,
+    period        VARCHAR(255)
+        CHECK (period IN ('WEEKLY', 'MONTHLY', 'YEARLY')),
+    PRIMARY KEY (id)
+);
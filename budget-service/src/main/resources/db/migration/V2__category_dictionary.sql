@@ -0,0 +1,31 @@
+-- Category dictionary - har budget row mein naam ki jagah chhota integer id
+-- transaction-service ka categories table same schema hai (naam -> id, APIs naam hi lete/dete hain)
+
+CREATE TABLE categories (
+    id   INTEGER      GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+INSERT INTO categories (name)
+SELECT DISTINCT category FROM budgets
+ORDER BY 1;
+
+ALTER TABLE budgets ADD COLUMN category_id INTEGER;
+
+UPDATE budgets b
+SET category_id = c.id
+FROM categories c
+WHERE c.name = b.category;
+
+ALTER TABLE budgets ALTER COLUMN category_id SET NOT NULL;
+
+ALTER TABLE budgets
+    ADD CONSTRAINT fk_budgets_category FOREIGN KEY (category_id) REFERENCES categories (id);
+
+ALTER TABLE budgets DROP COLUMN category;
+
+-- findByUserId, findByUserIdAndCategory
+CREATE INDEX idx_budgets_user_category
+    ON budgets (user_id, category_id);
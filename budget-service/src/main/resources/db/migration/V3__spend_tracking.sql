@@ -0,0 +1,31 @@
+-- Live spentAmount - transaction-service ke change feed se
+-- spend_ledger: har user / category / din ka EXPENSE total (naye ya badle budgets ka spent isi se)
+-- spend_tracked_users: jin users ke budgets hain; synced_event_id NULL = snapshot se sync baaki
+-- spend_feed_checkpoint: feed ka aakhri apply hua seq (single row)
+
+CREATE TABLE spend_ledger (
+    user_id     BIGINT         NOT NULL,
+    category_id INTEGER        NOT NULL REFERENCES categories (id),
+    spend_date  DATE           NOT NULL,
+    amount      NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (user_id, category_id, spend_date)
+);
+
+CREATE TABLE spend_tracked_users (
+    user_id         BIGINT NOT NULL,
+    synced_event_id BIGINT,
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE spend_feed_checkpoint (
+    id       SMALLINT NOT NULL CHECK (id = 1),
+    last_seq BIGINT   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO spend_feed_checkpoint (id, last_seq) VALUES (1, 0);
+
+INSERT INTO spend_tracked_users (user_id)
+SELECT DISTINCT user_id FROM budgets;
+
+UPDATE budgets SET spent_amount = 0 WHERE spent_amount IS NULL;
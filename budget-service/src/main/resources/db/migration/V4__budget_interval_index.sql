@@ -0,0 +1,10 @@
+-- Budget date-range matching ke liye (user, category, start, end)
+-- (user_id, category_id) wala index iska prefix hai, isliye woh hata diya
+-- budgets_version: user ke budgets badalne pe +1 - in-memory interval index isi se stale pehchaanta hai
+
+DROP INDEX IF EXISTS idx_budgets_user_category;
+
+CREATE INDEX idx_budgets_user_category_dates
+    ON budgets (user_id, category_id, start_date, end_date);
+
+ALTER TABLE spend_tracked_users ADD COLUMN budgets_version BIGINT NOT NULL DEFAULT 0;
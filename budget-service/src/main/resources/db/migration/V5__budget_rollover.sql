@@ -0,0 +1,25 @@
+-- Period rollover - khatam hue WEEKLY/MONTHLY/YEARLY budgets ka agla budget job banata hai
+-- previous_budget_id unique: ek budget ka ek hi successor, rerun/parallel run pe duplicate nahi
+-- rolled_over: source row done; pending partial index sirf abhi tak roll na hue budgets rakhta hai
+
+ALTER TABLE budgets ADD COLUMN previous_budget_id BIGINT;
+ALTER TABLE budgets ADD COLUMN rolled_over BOOLEAN NOT NULL DEFAULT false;
+
+CREATE UNIQUE INDEX uk_budgets_previous_budget
+    ON budgets (previous_budget_id);
+
+CREATE INDEX idx_budgets_rollover_pending
+    ON budgets (id) INCLUDE (user_id, end_date)
+    WHERE NOT rolled_over AND period IS NOT NULL;
+
+-- Per run + worker keyset cursor - crash ke baad job wahin se
+CREATE TABLE budget_rollover_checkpoint (
+    run_date     DATE         NOT NULL,
+    workers      INTEGER      NOT NULL,
+    worker       INTEGER      NOT NULL,
+    last_id      BIGINT       NOT NULL DEFAULT 0,
+    scanned      BIGINT       NOT NULL DEFAULT 0,
+    created      BIGINT       NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP(6),
+    PRIMARY KEY (run_date, workers, worker)
+);
@@ -0,0 +1,19 @@
+-- Bulk evaluator ki last dekhi hui status - agla run sirf isse alag status ko transition maanta hai
+-- Backfill BudgetStatus.of() wali hi math se (paise ke bina bhi same: dono scale 2)
+
+ALTER TABLE budgets ADD COLUMN status VARCHAR(10);
+ALTER TABLE budgets ADD COLUMN status_changed_at TIMESTAMP(6);
+
+UPDATE budgets SET
+    status = CASE
+        WHEN budget_amount <= 0 THEN CASE WHEN COALESCE(spent_amount, 0) > 0 THEN 'EXCEEDED' ELSE 'SAFE' END
+        WHEN COALESCE(spent_amount, 0) * 200 >= budget_amount * 199 THEN 'EXCEEDED'
+        WHEN COALESCE(spent_amount, 0) * 200 >= budget_amount * 159 THEN 'WARNING'
+        ELSE 'SAFE'
+    END,
+    status_changed_at = now();
+
+-- Evaluator ka keyset scan - sirf current (abhi roll na hue) budgets
+CREATE INDEX idx_budgets_active
+    ON budgets (id)
+    WHERE NOT rolled_over;
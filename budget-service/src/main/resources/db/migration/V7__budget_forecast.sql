@@ -0,0 +1,19 @@
+-- Spend forecast - per budget exponentially weighted daily run-rate (linear EWMA)
+-- forecast_rate = alpha * SUM(din ka spend * (1 - alpha) ^ (forecast_as_of - din)), forecast_as_of = aakhri spend wala din
+-- Har feed delta O(1) mein isme judta hai (purani tareekh ka bhi); alpha yahan budget.forecast.alpha ka default 0.1
+
+ALTER TABLE budgets ADD COLUMN forecast_rate DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE budgets ADD COLUMN forecast_as_of DATE;
+
+UPDATE budgets b SET forecast_rate = s.rate, forecast_as_of = s.as_of
+FROM (
+    SELECT id, as_of, 0.1 * SUM(amount * POWER(0.9, as_of - spend_date)) AS rate
+    FROM (
+        SELECT t.id, l.amount, l.spend_date, MAX(l.spend_date) OVER (PARTITION BY t.id) AS as_of
+        FROM budgets t
+        JOIN spend_ledger l ON l.user_id = t.user_id AND l.category_id = t.category_id
+            AND l.spend_date BETWEEN t.start_date AND t.end_date
+    ) d
+    GROUP BY id, as_of
+) s
+WHERE b.id = s.id;
@@ -0,0 +1,27 @@
+-- Alert pipeline ki state DB mein - restart pe pending alerts nahi khote, dedupe saare instances mein same
+
+-- Window mein ruke alerts: status update ki hi transaction mein upsert, scheduler drain karta hai
+-- first_detected_at = window ka pehla transition; baaki columns sabse naye transition ke
+CREATE TABLE budget_pending_alerts (
+    budget_id         BIGINT         NOT NULL REFERENCES budgets (id) ON DELETE CASCADE,
+    user_id           BIGINT         NOT NULL,
+    status            VARCHAR(10)    NOT NULL,
+    budget_amount     NUMERIC(15, 2) NOT NULL,
+    spent_amount      NUMERIC(15, 2) NOT NULL,
+    first_detected_at TIMESTAMP(6)   NOT NULL,
+    evaluated_at      TIMESTAMP(6)   NOT NULL,
+    transitions       INTEGER        NOT NULL,
+    PRIMARY KEY (budget_id)
+);
+
+CREATE INDEX idx_budget_pending_alerts_detected
+    ON budget_pending_alerts (first_detected_at);
+
+-- Har budget ka sabse ooncha delivered level (dedupe) - budgets se alag table, taaki drain
+-- budgets rows lock na kare (evaluator unhe lock karke pending upsert karta hai)
+CREATE TABLE budget_alert_state (
+    budget_id      BIGINT      NOT NULL REFERENCES budgets (id) ON DELETE CASCADE,
+    alerted_status VARCHAR(10)  NOT NULL,
+    alerted_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (budget_id)
+);
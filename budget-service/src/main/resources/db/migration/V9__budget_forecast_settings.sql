@@ -0,0 +1,11 @@
+-- Budgets ke forecast_rate kis alpha se bane hain - V7 backfill 0.1 se hua tha.
+-- Startup pe budget.forecast.alpha isse alag ho to BudgetForecastReseeder saare active
+-- budgets ledger se dobara seed karke yahan naya alpha likhta hai
+
+CREATE TABLE budget_forecast_settings (
+    id    INTEGER          NOT NULL CHECK (id = 1),
+    alpha DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO budget_forecast_settings (id, alpha) VALUES (1, 0.1);
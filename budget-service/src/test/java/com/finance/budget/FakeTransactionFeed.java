@@ -0,0 +1,104 @@
+package com.finance.budget;
+
+import com.finance.budget.dto.ChangeFeedPage;
+import com.finance.budget.dto.ChangeFeedSnapshot;
+import com.finance.budget.dto.DailyBucket;
+import com.finance.budget.dto.TransactionChangeEvent;
+import com.finance.budget.service.TransactionServiceClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * transaction-service ke change feed ki jagah - tests events khud publish karte hain.
+ *
+ * Contract wahi: getChanges = seq > after, seq order mein; snapshot = user ke ab tak ke saare
+ * events ka daily jod + unka aakhri eventId. seq = eventId, DB checkpoint ke aage se shuru
+ * (context dobara bane to bhi feed checkpoint se peeche nahi jaata).
+ *
+ * Feign client base class ka @MockBean hai (Feign clients khud primary hote hain); constructor
+ * use isi feed pe bhej deta hai - scheduled poll shuru hone se pehle.
+ */
+public class FakeTransactionFeed {
+
+    private final List<TransactionChangeEvent> events = new ArrayList<>();
+    private final long firstSeq;
+    private long nextTransactionId = 1;
+    private volatile Runnable beforePage = () -> { };
+
+    public FakeTransactionFeed(JdbcTemplate jdbcTemplate, TransactionServiceClient transactionClient) {
+        Long checkpoint = jdbcTemplate.queryForObject(
+                "SELECT last_seq FROM spend_feed_checkpoint WHERE id = 1", Long.class);
+        this.firstSeq = checkpoint + 1;
+        when(transactionClient.getChanges(anyLong(), anyInt()))
+                .thenAnswer(call -> getChanges(call.getArgument(0), call.getArgument(1)));
+        when(transactionClient.getSnapshot(any()))
+                .thenAnswer(call -> getSnapshot(call.getArgument(0)));
+    }
+
+    /**
+     * Naya transaction (amount > 0) ya uska delete (amount < 0)
+     */
+    public synchronized TransactionChangeEvent publish(Long userId, String category, String type,
+                                                       LocalDate date, BigDecimal amountDelta) {
+        long seq = firstSeq + events.size();
+        boolean created = amountDelta.signum() >= 0;
+        TransactionChangeEvent event = new TransactionChangeEvent(seq, seq, userId, nextTransactionId++,
+                created ? "CREATED" : "DELETED", type, category, date, amountDelta, created ? 1L : -1L,
+                LocalDateTime.now());
+        events.add(event);
+        return event;
+    }
+
+    public synchronized long latestSeq() {
+        return firstSeq + events.size() - 1;
+    }
+
+    public synchronized List<TransactionChangeEvent> events(Long userId) {
+        return events.stream().filter(event -> event.getUserId().equals(userId)).toList();
+    }
+
+    /**
+     * getChanges ke andar, page banne se pehle - do consumers ko ek hi page dilane ke liye
+     */
+    public void beforePage(Runnable hook) {
+        this.beforePage = hook;
+    }
+
+    public ChangeFeedPage getChanges(long after, int limit) {
+        beforePage.run();
+        synchronized (this) {
+            int from = (int) Math.max(0, after + 1 - firstSeq);
+            List<TransactionChangeEvent> page = new ArrayList<>(
+                    events.subList(Math.min(from, events.size()), Math.min(from + limit, events.size())));
+            return new ChangeFeedPage(page, events.isEmpty() ? null : firstSeq,
+                    events.isEmpty() ? null : latestSeq());
+        }
+    }
+
+    public synchronized ChangeFeedSnapshot getSnapshot(Long userId) {
+        Map<List<Object>, DailyBucket> daily = new LinkedHashMap<>();
+        long lastEventId = 0;
+        for (TransactionChangeEvent event : events(userId)) {
+            DailyBucket bucket = daily.computeIfAbsent(
+                    List.of(event.getTransactionDate(), event.getCategory(), event.getType()),
+                    key -> new DailyBucket(event.getTransactionDate(), event.getCategory(), event.getType(),
+                            BigDecimal.ZERO, 0L));
+            bucket.setTotalAmount(bucket.getTotalAmount().add(event.getAmountDelta()));
+            bucket.setCount(bucket.getCount() + event.getCountDelta());
+            lastEventId = event.getEventId();
+        }
+        return new ChangeFeedSnapshot(userId, lastEventId, new ArrayList<>(daily.values()));
+    }
+}
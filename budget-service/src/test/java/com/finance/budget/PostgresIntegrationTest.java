@@ -0,0 +1,47 @@
+package com.finance.budget;
+
+import com.finance.budget.service.TransactionServiceClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests ka base - poora context, Flyway migrations ke saath Testcontainers Postgres pe
+ * (docker-compose wala hi postgres:15). Docker na ho to tests skip hote hain.
+ *
+ * transaction-service ki jagah FakeTransactionFeed. Scheduled feed poll, evaluator aur alert flush
+ * startup ke baad ek ghante tak nahi chalte - tests unhe khud bulate hain. Alert window 1s.
+ * Container saari test classes ke liye ek hi hai, tests apne alag user ids use karte hain.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.finance.budget=INFO",
+        "budget.spend.poll-interval-ms=3600000",
+        "budget.evaluation.interval-ms=3600000",
+        "budget.alerts.flush-interval-ms=3600000",
+        "budget.alerts.window=1s"
+})
+@MockBean(classes = TransactionServiceClient.class, reset = MockReset.NONE)
+@Import(FakeTransactionFeed.class)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("budget_db");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+        }
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
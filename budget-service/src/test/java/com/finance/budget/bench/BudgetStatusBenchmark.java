@@ -0,0 +1,93 @@
+package com.finance.budget.bench;
+
+import com.finance.budget.model.BudgetStatus;
+import com.finance.budget.model.LegacyBudgetStatus;
+import com.finance.common.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget status - purana getStatus (BigDecimal divide + double percentage) vs BudgetStatus.of
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="BudgetStatusBenchmark -prof gc"
+ * Score = ek budget ki status ka time
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BudgetStatusBenchmark {
+
+    private static final int BUDGETS = 1024;
+
+    private BigDecimal[] spent;
+    private BigDecimal[] budget;
+    private long[] spentMinor;
+    private long[] budgetMinor;
+
+    /**
+     * 0-120% spend - teeno statuses aate hain
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        spent = new BigDecimal[BUDGETS];
+        budget = new BigDecimal[BUDGETS];
+        spentMinor = new long[BUDGETS];
+        budgetMinor = new long[BUDGETS];
+        for (int i = 0; i < BUDGETS; i++) {
+            long limit = 100_00 + random.nextInt(10_000_000);
+            long used = (long) (limit * random.nextDouble() * 1.2);
+            budget[i] = BigDecimal.valueOf(limit, Money.SCALE);
+            spent[i] = BigDecimal.valueOf(used, Money.SCALE);
+            budgetMinor[i] = limit;
+            spentMinor[i] = used;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BUDGETS)
+    public void legacyBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < BUDGETS; i++) {
+            blackhole.consume(LegacyBudgetStatus.of(spent[i], budget[i]));
+        }
+    }
+
+    /**
+     * BudgetService.convertToResponse jaisa - entity ke BigDecimal se paise, phir integer thresholds
+     */
+    @Benchmark
+    @OperationsPerInvocation(BUDGETS)
+    public void fromBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < BUDGETS; i++) {
+            blackhole.consume(BudgetStatus.of(Money.toMinor(spent[i]), Money.toMinor(budget[i])));
+        }
+    }
+
+    /**
+     * BudgetEvaluationService jaisa - amounts SQL se hi paise (long) mein aate hain
+     */
+    @Benchmark
+    @OperationsPerInvocation(BUDGETS)
+    public void fromMinorUnits(Blackhole blackhole) {
+        for (int i = 0; i < BUDGETS; i++) {
+            blackhole.consume(BudgetStatus.of(spentMinor[i], budgetMinor[i]));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.finance.budget.bench;
+
+import com.finance.common.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1M amounts ka sum - BigDecimal.add chain vs long paise (Money)
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="MoneySumBenchmark -prof gc"
+ * -prof gc se gc.alloc.rate.norm = har sum pe kitne bytes allocate hue
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneySumBenchmark {
+
+    private static final int SIZE = 1_000_000;
+
+    private BigDecimal[] amounts;
+    private long[] minorUnits;
+    private Money[] money;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[SIZE];
+        minorUnits = new long[SIZE];
+        money = new Money[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            long paise = 1 + random.nextInt(10_000_000);
+            amounts[i] = BigDecimal.valueOf(paise, Money.SCALE);
+            minorUnits[i] = paise;
+            money[i] = Money.ofMinor(paise);
+        }
+    }
+
+    /**
+     * Pehle wala tareeka - har add pe naya BigDecimal
+     */
+    @Benchmark
+    public BigDecimal bigDecimalAdd() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    /**
+     * Aggregation paths (rollup/user_totals deltas, evaluator chunks) - primitive long, overflow check ke saath
+     */
+    @Benchmark
+    public BigDecimal minorUnits() {
+        long sum = 0;
+        for (long amount : minorUnits) {
+            sum = Math.addExact(sum, amount);
+        }
+        return Money.toBigDecimal(sum);
+    }
+
+    /**
+     * Input BigDecimal hi ho (entity/JPQL se) to boundary pe convert karke sum
+     */
+    @Benchmark
+    public BigDecimal bigDecimalToMinorUnits() {
+        long sum = 0;
+        for (BigDecimal amount : amounts) {
+            sum = Math.addExact(sum, Money.toMinor(amount));
+        }
+        return Money.toBigDecimal(sum);
+    }
+
+    /**
+     * Money value object - har plus pe ek chhota object
+     */
+    @Benchmark
+    public Money moneyPlus() {
+        Money sum = Money.ZERO;
+        for (Money amount : money) {
+            sum = sum.plus(amount);
+        }
+        return sum;
+    }
+}
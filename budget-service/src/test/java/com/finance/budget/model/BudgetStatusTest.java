@@ -0,0 +1,85 @@
+package com.finance.budget.model;
+
+import com.finance.common.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * BudgetStatus.of (paise, integer thresholds) vs purana BigDecimal percentage logic
+ */
+class BudgetStatusTest {
+
+    @ParameterizedTest(name = "{0} / {1} -> {2}")
+    @CsvSource({
+            // 79.49% -> ratio 0.79 (SAFE), 79.5% -> 0.80 (WARNING)
+            "7949.00, 10000.00, SAFE",
+            "7950.00, 10000.00, WARNING",
+            // 99.49% -> 0.99 (WARNING), 99.5% -> 1.00 (EXCEEDED)
+            "9949.00, 10000.00, WARNING",
+            "9950.00, 10000.00, EXCEEDED",
+            // ek paisa idhar-udhar
+            "79.49, 100.00, SAFE",
+            "79.50, 100.00, WARNING",
+            "99.49, 100.00, WARNING",
+            "99.50, 100.00, EXCEEDED",
+            "0.00, 100.00, SAFE",
+            "250.00, 100.00, EXCEEDED"
+    })
+    void boundaries(BigDecimal spent, BigDecimal budget, BudgetStatus expected) {
+        assertThat(BudgetStatus.of(Money.toMinor(spent), Money.toMinor(budget))).isEqualTo(expected);
+        assertThat(LegacyBudgetStatus.of(spent, budget)).isEqualTo(expected.name());
+    }
+
+    /**
+     * Har budget 0.01 - 20.00 aur 0 se 120% tak har spent - ek bhi mismatch nahi
+     */
+    @Test
+    void matchesLegacyForSmallAmounts() {
+        for (long budget = 1; budget <= 2000; budget++) {
+            for (long spent = 0; spent <= budget * 12 / 10; spent++) {
+                assertMatchesLegacy(spent, budget);
+            }
+        }
+    }
+
+    /**
+     * Bade amounts (NUMERIC(15, 2) tak) - 80% / 100% thresholds ke aas-paas
+     */
+    @Test
+    void matchesLegacyNearThresholdsForLargeAmounts() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long budget = 1 + (long) (random.nextDouble() * 99_999_999_999_999L);
+            double threshold = random.nextBoolean() ? 0.795 : 0.995;
+            long spent = Math.max(0, (long) (budget * threshold) + random.nextInt(2001) - 1000);
+            assertMatchesLegacy(spent, budget);
+        }
+    }
+
+    /**
+     * Purana code budget 0 pe divide by zero pe phat jaata tha; ab kharch ho to EXCEEDED, warna SAFE
+     */
+    @Test
+    void zeroBudget() {
+        assertThatThrownBy(() -> LegacyBudgetStatus.of(BigDecimal.ONE, BigDecimal.ZERO))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(BudgetStatus.of(0, 0)).isEqualTo(BudgetStatus.SAFE);
+        assertThat(BudgetStatus.of(1, 0)).isEqualTo(BudgetStatus.EXCEEDED);
+    }
+
+    private static void assertMatchesLegacy(long spent, long budget) {
+        String legacy = LegacyBudgetStatus.of(Money.toBigDecimal(spent), Money.toBigDecimal(budget));
+        String actual = BudgetStatus.of(spent, budget).name();
+        if (!actual.equals(legacy)) {
+            fail("spent=%d budget=%d: %s, legacy %s", spent, budget, actual, legacy);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.finance.budget.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Purana BudgetService.getStatus - ratio 2 decimals HALF_UP, phir percentage (BigDecimal + double)
+ * BudgetStatus.of isi ke barabar hona chahiye; test aur benchmark dono isse compare karte hain
+ */
+public final class LegacyBudgetStatus {
+
+    private LegacyBudgetStatus() {
+    }
+
+    public static String of(BigDecimal spent, BigDecimal budget) {
+        double percentage = spent.divide(budget, 2, RoundingMode.HALF_UP)
+                .multiply(new BigDecimal(100))
+                .doubleValue();
+
+        if (percentage >= 100) return "EXCEEDED";
+        if (percentage >= 80) return "WARNING";
+        return "SAFE";
+    }
+}
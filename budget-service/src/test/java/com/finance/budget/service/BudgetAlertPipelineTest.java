@@ -0,0 +1,119 @@
+package com.finance.budget.service;
+
+import com.finance.budget.FakeTransactionFeed;
+import com.finance.budget.PostgresIntegrationTest;
+import com.finance.budget.dto.BudgetAlert;
+import com.finance.budget.dto.BudgetRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Alert pipeline end to end - feed ka kharch, status refresh, window (1s) mein coalesce, flush pe sink
+ */
+class BudgetAlertPipelineTest extends PostgresIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private FakeTransactionFeed feed;
+
+    @Autowired
+    private SpendFeedConsumer consumer;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetAlertPipeline pipeline;
+
+    @Autowired
+    private InMemoryAlertSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void warningThenSafeWithinWindowSendsNoAlert() throws Exception {
+        long user = 822_001;
+        Long budgetId = createBudget(user);
+
+        spend(user, "85.00");
+        assertThat(status(budgetId)).isEqualTo("WARNING");
+        spend(user, "-85.00");
+        assertThat(status(budgetId)).isEqualTo("SAFE");
+
+        pipeline.flush();
+        assertThat(pending(budgetId)).isEqualTo(1);
+        waitForWindow();
+        pipeline.flush();
+
+        assertThat(alerts(budgetId)).isEmpty();
+        assertThat(pending(budgetId)).isZero();
+    }
+
+    @Test
+    void warningThenExceededSendsOneAlert() throws Exception {
+        long user = 822_002;
+        Long budgetId = createBudget(user);
+
+        spend(user, "85.00");
+        spend(user, "20.00");
+        assertThat(status(budgetId)).isEqualTo("EXCEEDED");
+        waitForWindow();
+        pipeline.flush();
+
+        assertThat(alerts(budgetId)).singleElement().satisfies(alert -> {
+            assertThat(alert.getStatus()).isEqualTo("EXCEEDED");
+            assertThat(alert.getPreviousStatus()).isNull();
+            assertThat(alert.getSpentAmount()).isEqualByComparingTo("105.00");
+            assertThat(alert.getCoalesced()).isEqualTo(2);
+        });
+
+        // 100% ke aas-paas jhoolna - dedup-ttl ke andar dobara alert nahi
+        spend(user, "-10.00");
+        spend(user, "10.00");
+        waitForWindow();
+        pipeline.flush();
+        assertThat(alerts(budgetId)).hasSize(1);
+    }
+
+    private Long createBudget(long user) {
+        Long budgetId = budgetService.createBudget(new BudgetRequest(user, "Food", new BigDecimal("100.00"),
+                TODAY.withDayOfMonth(1), TODAY.withDayOfMonth(1).plusMonths(1).minusDays(1), "MONTHLY", null))
+                .getId();
+        consumer.poll();
+        return budgetId;
+    }
+
+    /**
+     * Aaj ka EXPENSE (minus = delete) feed pe, phir consumer - apply ke saath status refresh
+     */
+    private void spend(long user, String amount) {
+        feed.publish(user, "Food", "EXPENSE", TODAY, new BigDecimal(amount));
+        consumer.poll();
+    }
+
+    private static void waitForWindow() throws InterruptedException {
+        Thread.sleep(1_500);
+    }
+
+    private List<BudgetAlert> alerts(Long budgetId) {
+        return sink.recent().stream().filter(alert -> alert.getBudgetId().equals(budgetId)).toList();
+    }
+
+    private String status(Long budgetId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM budgets WHERE id = ?", String.class, budgetId);
+    }
+
+    private int pending(Long budgetId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM budget_pending_alerts WHERE budget_id = ?", Integer.class, budgetId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.finance.budget.service;
+
+import com.finance.budget.PostgresIntegrationTest;
+import com.finance.budget.dto.BatchItemResult;
+import com.finance.budget.dto.BatchResult;
+import com.finance.budget.dto.BudgetRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch writes - DB pe fail hone wala ek item (validation pass, NUMERIC(15,2) overflow) sirf khud FAILED,
+ * baaki chunk bisect hoke likha jaata hai
+ */
+class BudgetBatchServiceTest extends PostgresIntegrationTest {
+
+    private static final LocalDate START = LocalDate.now().withDayOfMonth(1);
+
+    @Autowired
+    private BudgetBatchService batchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overflowingAmountFailsOnlyThatItem() {
+        long user = 824_001;
+        List<BudgetRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new BudgetRequest(user, "Batch" + i, i == 4 ? new BigDecimal("1e20") : new BigDecimal("500.00"),
+                    START, START.plusMonths(1).minusDays(1), "MONTHLY", null));
+        }
+
+        BatchResult result = batchService.create(requests);
+
+        assertThat(result.getSucceeded()).isEqualTo(9);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems()).extracting(BatchItemResult::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(result.getItems()).filteredOn(item -> "FAILED".equals(item.getResult()))
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getIndex()).isEqualTo(4);
+                    assertThat(item.getBudgetId()).isNull();
+                    assertThat(item.getError()).isNotBlank();
+                });
+        assertThat(result.getItems()).filteredOn(item -> item.getIndex() != 4)
+                .allSatisfy(item -> {
+                    assertThat(item.getResult()).isEqualTo("CREATED");
+                    assertThat(item.getBudgetId()).isNotNull();
+                });
+
+        List<String> stored = jdbcTemplate.queryForList(
+                "SELECT c.name FROM budgets b JOIN categories c ON c.id = b.category_id " +
+                "WHERE b.user_id = ? ORDER BY c.name", String.class, user);
+        assertThat(stored).containsExactly("Batch0", "Batch1", "Batch2", "Batch3", "Batch5",
+                "Batch6", "Batch7", "Batch8", "Batch9");
+    }
+}
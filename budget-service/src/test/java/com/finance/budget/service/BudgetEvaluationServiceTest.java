@@ -0,0 +1,116 @@
+package com.finance.budget.service;
+
+import com.finance.budget.PostgresIntegrationTest;
+import com.finance.budget.dto.BudgetRequest;
+import com.finance.budget.dto.BudgetStatusTransition;
+import com.finance.budget.dto.EvaluationRunResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scheduled evaluator - status badle to transition sirf ek baar, chahe runs dohraye ya saath chalein
+ */
+class BudgetEvaluationServiceTest extends PostgresIntegrationTest {
+
+    private static final LocalDate START = LocalDate.now().withDayOfMonth(1);
+
+    @Autowired
+    private BudgetEvaluationService evaluationService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transitionIsEmittedOnlyOnce() {
+        Long budgetId = createBudget(821_001);
+        // pehli evaluation SAFE - koi transition nahi
+        assertThat(transitions(evaluationService.evaluateAll(), budgetId)).isEmpty();
+
+        setSpent(budgetId, "85.00");
+        assertThat(transitions(evaluationService.evaluateAll(), budgetId))
+                .singleElement()
+                .satisfies(transition -> {
+                    assertThat(transition.getPreviousStatus()).isEqualTo("SAFE");
+                    assertThat(transition.getStatus()).isEqualTo("WARNING");
+                    assertThat(transition.getSpentAmount()).isEqualByComparingTo("85.00");
+                });
+        assertThat(transitions(evaluationService.evaluateAll(), budgetId)).isEmpty();
+        assertThat(status(budgetId)).isEqualTo("WARNING");
+    }
+
+    @Test
+    void concurrentRunsEmitTransitionOnce() throws Exception {
+        Long budgetId = createBudget(821_002);
+        evaluationService.evaluateAll();
+        setSpent(budgetId, "100.00");
+
+        CyclicBarrier together = new CyclicBarrier(3);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        List<Future<EvaluationRunResult>> runs = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                runs.add(pool.submit(() -> {
+                    together.await(10, TimeUnit.SECONDS);
+                    return evaluationService.evaluateAll();
+                }));
+            }
+            List<BudgetStatusTransition> emitted = new ArrayList<>();
+            for (Future<EvaluationRunResult> run : runs) {
+                emitted.addAll(transitions(run.get(1, TimeUnit.MINUTES), budgetId));
+            }
+            assertThat(emitted).singleElement()
+                    .extracting(BudgetStatusTransition::getStatus).isEqualTo("EXCEEDED");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void endedBudgetTransitionsOnce() {
+        Long budgetId = createBudget(821_003);
+        setSpent(budgetId, "90.00");
+        evaluationService.evaluateAll();
+        jdbcTemplate.update("UPDATE budgets SET start_date = ?, end_date = ? WHERE id = ?",
+                LocalDate.now().minusDays(30), LocalDate.now().minusDays(1), budgetId);
+
+        assertThat(transitions(evaluationService.evaluateAll(), budgetId))
+                .singleElement()
+                .extracting(BudgetStatusTransition::getStatus).isEqualTo("ENDED");
+        assertThat(transitions(evaluationService.evaluateAll(), budgetId)).isEmpty();
+    }
+
+    private Long createBudget(long user) {
+        return budgetService.createBudget(new BudgetRequest(user, "Food", new BigDecimal("100.00"),
+                START, START.plusMonths(1).minusDays(1), "MONTHLY", null)).getId();
+    }
+
+    private void setSpent(Long budgetId, String amount) {
+        jdbcTemplate.update("UPDATE budgets SET spent_amount = ? WHERE id = ?", new BigDecimal(amount), budgetId);
+    }
+
+    private String status(Long budgetId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM budgets WHERE id = ?", String.class, budgetId);
+    }
+
+    private static List<BudgetStatusTransition> transitions(EvaluationRunResult run, Long budgetId) {
+        return run.getTransitions().stream()
+                .filter(transition -> transition.getBudgetId().equals(budgetId))
+                .toList();
+    }
+}
@@ -0,0 +1,185 @@
+package com.finance.budget.service;
+
+import com.finance.budget.FakeTransactionFeed;
+import com.finance.budget.PostgresIntegrationTest;
+import com.finance.budget.dto.BudgetRequest;
+import com.finance.budget.dto.TransactionChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spend feed - concurrent creates/deletes, kai consumers aur replays ke baad har EXPENSE delta
+ * ledger aur budget ke spent mein theek ek baar
+ */
+class SpendFeedConsumerTest extends PostgresIntegrationTest {
+
+    private static final LocalDate START = LocalDate.now().withDayOfMonth(1);
+    private static final LocalDate END = START.plusMonths(1).minusDays(1);
+
+    @Autowired
+    private FakeTransactionFeed feed;
+
+    @Autowired
+    private SpendFeedConsumer consumer;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void resetFeed() {
+        feed.beforePage(() -> { });
+    }
+
+    /**
+     * Budget se pehle ki history snapshot se aati hai, wahi events feed mein dobara bhi aate hain
+     * (eventId <= synced_event_id, skip). Phir writers aur teen consumers saath chalte hain.
+     */
+    @Test
+    void concurrentWritesAndConsumersCountEveryExpenseOnce() throws Exception {
+        long user = 800_018;
+        List<TransactionChangeEvent> history = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            history.add(feed.publish(user, i % 2 == 0 ? "Food" : "Rent", "EXPENSE",
+                    START.plusDays(i), BigDecimal.valueOf(1000 + i, 2)));
+        }
+        feed.publish(user, "Food", "EXPENSE", history.get(0).getTransactionDate(),
+                history.get(0).getAmountDelta().negate());
+        Long budgetId = createBudget(user, "Food");
+        consumer.poll();
+
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        try {
+            AtomicBoolean writing = new AtomicBoolean(true);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 3; w++) {
+                writers.add(pool.submit(() -> write(user, 150)));
+            }
+            List<Future<?>> consumers = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                consumers.add(pool.submit(() -> {
+                    while (writing.get() || checkpoint() < feed.latestSeq()) {
+                        consumer.applyNextPage();
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            for (Future<?> running : consumers) {
+                running.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(checkpoint()).isEqualTo(feed.latestSeq());
+        assertThat(spent(budgetId)).isEqualByComparingTo(expense(user, "Food", START, END));
+        assertThat(ledger(user, "Food")).isEqualByComparingTo(expense(user, "Food", LocalDate.MIN, LocalDate.MAX));
+        assertThat(ledger(user, "Rent")).isEqualByComparingTo(expense(user, "Rent", LocalDate.MIN, LocalDate.MAX));
+    }
+
+    /**
+     * Do consumers ek hi checkpoint se ek hi page laate hain - sirf ek lagata hai, doosra chhod deta hai
+     */
+    @Test
+    void samePageFetchedTwiceIsAppliedOnce() throws Exception {
+        long user = 800_019;
+        Long budgetId = createBudget(user, "Food");
+        consumer.poll();
+        for (int i = 0; i < 10; i++) {
+            feed.publish(user, "Food", "EXPENSE", START.plusDays(i % 7), new BigDecimal("12.50"));
+        }
+
+        CyclicBarrier bothFetching = new CyclicBarrier(2);
+        feed.beforePage(() -> {
+            try {
+                bothFetching.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = pool.submit(consumer::applyNextPage);
+            Future<Boolean> second = pool.submit(consumer::applyNextPage);
+            first.get(1, TimeUnit.MINUTES);
+            second.get(1, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+        feed.beforePage(() -> { });
+        consumer.applyNextPage();
+
+        assertThat(checkpoint()).isEqualTo(feed.latestSeq());
+        assertThat(spent(budgetId)).isEqualByComparingTo("125.00");
+        assertThat(ledger(user, "Food")).isEqualByComparingTo("125.00");
+    }
+
+    /**
+     * Creates aur apne hi pichhle transactions ke deletes - budget ke bahar ki tareekhein aur INCOME bhi
+     */
+    private void write(long user, int ops) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TransactionChangeEvent> live = new ArrayList<>();
+        for (int n = 0; n < ops; n++) {
+            if (n % 3 == 2 && !live.isEmpty()) {
+                TransactionChangeEvent created = live.remove(random.nextInt(live.size()));
+                feed.publish(user, created.getCategory(), created.getType(), created.getTransactionDate(),
+                        created.getAmountDelta().negate());
+            } else {
+                live.add(feed.publish(user, random.nextBoolean() ? "Food" : "Rent",
+                        n % 5 == 0 ? "INCOME" : "EXPENSE", START.plusDays(random.nextInt(-10, 40)),
+                        BigDecimal.valueOf(random.nextInt(100, 20_000), 2)));
+            }
+        }
+    }
+
+    private Long createBudget(long user, String category) {
+        return budgetService.createBudget(new BudgetRequest(user, category, new BigDecimal("100000.00"),
+                START, END, "MONTHLY", null)).getId();
+    }
+
+    private BigDecimal expense(long user, String category, LocalDate from, LocalDate to) {
+        return feed.events(user).stream()
+                .filter(event -> "EXPENSE".equals(event.getType()) && category.equals(event.getCategory()))
+                .filter(event -> !event.getTransactionDate().isBefore(from) && !event.getTransactionDate().isAfter(to))
+                .map(TransactionChangeEvent::getAmountDelta)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private long checkpoint() {
+        return jdbcTemplate.queryForObject("SELECT last_seq FROM spend_feed_checkpoint WHERE id = 1", Long.class);
+    }
+
+    private BigDecimal spent(Long budgetId) {
+        return jdbcTemplate.queryForObject("SELECT spent_amount FROM budgets WHERE id = ?", BigDecimal.class, budgetId);
+    }
+
+    private BigDecimal ledger(long user, String category) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(l.amount), 0) FROM spend_ledger l JOIN categories c ON c.id = l.category_id " +
+                "WHERE l.user_id = ? AND c.name = ?", BigDecimal.class, user, category);
+    }
+}
@@ -0,0 +1,182 @@
+package com.finance.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Category Dictionary
+ *
+ * categories table (naam <-> integer id) ka warm in-process map - transaction-service
+ * aur budget-service dono ka same schema hai, isliye ek hi class.
+ * Startup pe poora load hota hai; miss pe (doosre instance ne naya naam banaya)
+ * sirf wahi row DB se aati hai. Entries kabhi change nahi hoti, isliye invalidation nahi.
+ *
+ * Naye naam sirf register() se bante hain (write paths, save se pehle) - query parameters
+ * ke unknown naam UNKNOWN_ID pe map hote hain aur thodi der negative-cache rehte hain.
+ *
+ * Saari queries JdbcTemplate se caller ki connection/transaction pe chalti hain (pool se
+ * doosri connection nahi). Transaction ke andar register hua id commit ke baad hi shared
+ * map mein jaata hai - rollback ho to dangling id cache nahi hota.
+ */
+@Slf4j
+@Component
+public class CategoryDictionary {
+
+    public static final int UNKNOWN_ID = -1;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO categories (name) VALUES (?) " +
+            "ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name RETURNING id";
+    private static final String ID_BY_NAME_SQL = "SELECT id FROM categories WHERE name = ?";
+    private static final String NAME_BY_ID_SQL = "SELECT name FROM categories WHERE id = ?";
+    private static final String ALL_SQL = "SELECT id, name FROM categories";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> unknownNames;
+
+    public CategoryDictionary(JdbcTemplate jdbcTemplate,
+                              @Value("${category.dictionary.unknown-ttl:1m}") Duration unknownTtl,
+                              @Value("${category.dictionary.unknown-max-entries:10000}") long unknownMaxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.unknownNames = Caffeine.newBuilder()
+                .maximumSize(unknownMaxEntries)
+                .expireAfterWrite(unknownTtl)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        jdbcTemplate.query(ALL_SQL, rows -> {
+            cache(rows.getInt(1), rows.getString(2));
+        });
+        log.info("Category dictionary loaded: {} categories", ids.size());
+    }
+
+    /**
+     * Naam ka id - naam na ho to UNKNOWN_ID (naya row nahi banta)
+     */
+    public int idOf(String name) {
+        if (name == null) {
+            return UNKNOWN_ID;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        Map<String, Integer> pending = pending(false);
+        if (pending != null && pending.containsKey(name)) {
+            return pending.get(name);
+        }
+        if (unknownNames.getIfPresent(name) != null) {
+            return UNKNOWN_ID;
+        }
+        List<Integer> stored = jdbcTemplate.queryForList(ID_BY_NAME_SQL, Integer.class, name);
+        if (stored.isEmpty()) {
+            unknownNames.put(name, Boolean.TRUE);
+            return UNKNOWN_ID;
+        }
+        // Pending mein nahi tha, to yeh row committed hai - cache karna safe
+        cache(stored.get(0), name);
+        return stored.get(0);
+    }
+
+    /**
+     * Write path - naam pehli baar aaya to dictionary row banao (ek upsert round trip)
+     */
+    public int register(String name) {
+        if (name == null) {
+            return UNKNOWN_ID;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        Map<String, Integer> pending = pending(true);
+        if (pending != null && pending.containsKey(name)) {
+            return pending.get(name);
+        }
+        id = jdbcTemplate.queryForObject(UPSERT_SQL, Integer.class, name);
+        if (pending != null) {
+            pending.put(name, id);
+        } else {
+            cache(id, name);
+        }
+        log.debug("Category registered: {} -> {}", name, id);
+        return id;
+    }
+
+    public String nameOf(int id) {
+        String name = names.get(id);
+        if (name != null) {
+            return name;
+        }
+        Map<String, Integer> pending = pending(false);
+        if (pending != null) {
+            for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                if (entry.getValue() == id) {
+                    return entry.getKey();
+                }
+            }
+        }
+        List<String> stored = jdbcTemplate.queryForList(NAME_BY_ID_SQL, String.class, id);
+        if (stored.isEmpty()) {
+            throw new IllegalStateException("Unknown category id: " + id);
+        }
+        cache(id, stored.get(0));
+        return stored.get(0);
+    }
+
+    /**
+     * Current transaction mein register hue naam - commit pe shared map mein,
+     * rollback pe discard. Map synchronization ke saath rehta hai, isliye REQUIRES_NEW
+     * wali inner transaction ka alag map hota hai. Transaction na ho to null (seedha cache)
+     * create=false (lookups) pe naya map register nahi hota
+     */
+    private Map<String, Integer> pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingCategories registered && registered.owner() == this) {
+                return registered.names();
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        PendingCategories registered = new PendingCategories(this, new HashMap<>());
+        TransactionSynchronizationManager.registerSynchronization(registered);
+        return registered.names();
+    }
+
+    private void cache(int id, String name) {
+        ids.put(name, id);
+        names.put(id, name);
+        unknownNames.invalidate(name);
+    }
+
+    private record PendingCategories(CategoryDictionary owner, Map<String, Integer> names)
+            implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            names.forEach((name, id) -> owner.cache(id, name));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.finance.report.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -13,12 +14,23 @@ public class ReportController {
 
     private final ReportService reportService;
 
+    /**
+     * Monthly Report
+     *
+     * GET /api/reports/monthly/{userId}?month=2024-03
+     * GET /api/reports/monthly/{userId}?month=MARCH&year=2024
+     */
     @GetMapping("/monthly/{userId}")
-    public ResponseEntity<MonthlyReport> getMonthlyReport(
+    public ResponseEntity<?> getMonthlyReport(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "JANUARY") String month) {
-        MonthlyReport report = reportService.getMonthlyReport(userId, month);
-        return ResponseEntity.ok(report);
+            @RequestParam(defaultValue = "JANUARY") String month,
+            @RequestParam(required = false) Integer year) {
+        try {
+            MonthlyReport report = reportService.getMonthlyReport(userId, month, year);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/health")
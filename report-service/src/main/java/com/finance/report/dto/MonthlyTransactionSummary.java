@@ -0,0 +1,20 @@
+package com.finance.report.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Transaction Service ka monthly aggregate - raw transactions nahi, sirf totals
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthlyTransactionSummary {
+    private String month;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    private Long totalTransactions;
+    private Map<String, BigDecimal> categoryWiseExpense;
+}
@@ -3,9 +3,9 @@ package com.finance.report.service;
 import com.finance.report.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 
 @Service
 @RequiredArgsConstructor
@@ -13,18 +13,40 @@ public class ReportService {
 
     private final TransactionServiceClientInterface transactionServiceClient;
 
-    public MonthlyReport getMonthlyReport(Long userId, String month) {
-        // Transaction Service se data fetch karo
-        TransactionSummary summary = transactionServiceClient.getTransactionSummary(userId);
+    /**
+     * month "2024-03" ya naam ("MARCH") - naam ke saath year (na ho to current year)
+     *
+     * Yahan koi amount arithmetic nahi - totals aur category-wise sums transaction-service
+     * paise (Money) mein jod ke bhejta hai, report unhe as-is pass karti hai. Isliye report-service
+     * BigDecimal hi rakhta hai aur finance-common (Money) pe depend nahi karta.
+     */
+    public MonthlyReport getMonthlyReport(Long userId, String month, Integer year) {
+        YearMonth yearMonth = resolveMonth(month, year);
+
+        // Transaction Service se sirf us mahine ka aggregate
+        MonthlyTransactionSummary summary =
+                transactionServiceClient.getMonthlySummary(userId, yearMonth.toString());
 
         // Report banao
         MonthlyReport report = new MonthlyReport();
-        report.setMonth(month);
+        report.setMonth(yearMonth.toString());
         report.setTotalIncome(summary.getTotalIncome());
         report.setTotalExpense(summary.getTotalExpense());
         report.setBalance(summary.getBalance());
-        report.setCategoryWiseExpense(new HashMap<>());
+        report.setCategoryWiseExpense(summary.getCategoryWiseExpense());
 
         return report;
     }
+
+    private YearMonth resolveMonth(String month, Integer year) {
+        try {
+            if (Character.isDigit(month.charAt(0))) {
+                return YearMonth.parse(month);
+            }
+            return YearMonth.of(year != null ? year : YearMonth.now().getYear(),
+                    Month.valueOf(month.trim().toUpperCase()));
+        } catch (DateTimeParseException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid month: " + month + " (use yyyy-MM or a month name)");
+        }
+    }
 }
\ No newline at end of file
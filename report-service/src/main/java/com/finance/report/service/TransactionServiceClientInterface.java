@@ -1,5 +1,6 @@
 package com.finance.report.service;
 
+import com.finance.report.dto.MonthlyTransactionSummary;
 import com.finance.report.dto.TransactionSummary;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
@@ -15,4 +16,11 @@ public interface TransactionServiceClientInterface {
 
     @GetMapping("/api/transactions/user/{userId}/summary")
     TransactionSummary getTransactionSummary(@PathVariable("userId") Long userId);
+
+    /**
+     * month = "yyyy-MM" - aggregation Transaction Service mein hi hota hai
+     */
+    @GetMapping("/api/transactions/user/{userId}/monthly-summary")
+    MonthlyTransactionSummary getMonthlySummary(@PathVariable("userId") Long userId,
+                                                @RequestParam("month") String month);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Statement import benchmark data - ~500 MB ka CSV ya OFX statement
+#
+#   bench/generate-statement.sh csv 500 /tmp/statement-500mb.csv
+#   bench/generate-statement.sh ofx 500 /tmp/statement-500mb.ofx
+#
+# Har row alag hai (description/FITID mein row number) - skip-duplicates kisi ko duplicate nahi ginta.
+# Dates 2023-2024, har 4th row income, 8 categories. Har 10th amount thousands separator ke saath
+# (CSV: quoted "1,234.50", OFX: decimal comma "-1.234,50") - amount parsing ke dono raaste chalte hain.
+# Phir bench/import-throughput.sh se upload + timing.
+set -euo pipefail
+
+FORMAT=${1:?"usage: $0 csv|ofx [size-mb] [output]"}
+SIZE_MB=${2:-500}
+OUT=${3:-/tmp/statement-${SIZE_MB}mb.${FORMAT}}
+
+case "$FORMAT" in
+  csv|ofx) ;;
+  *) echo "format must be csv or ofx" >&2; exit 1 ;;
+esac
+
+awk -v fmt="$FORMAT" -v limit=$((SIZE_MB * 1024 * 1024)) '
+BEGIN {
+    # 2023-01-01 se 730 din (plain awk - strftime nahi)
+    split("31 28 31 30 31 30 31 31 30 31 30 31", days, " ")
+    n = 0
+    for (year = 2023; year <= 2024; year++) {
+        for (month = 1; month <= 12; month++) {
+            last = days[month] + (month == 2 && year == 2024 ? 1 : 0)
+            for (day = 1; day <= last; day++) {
+                dates[n++] = sprintf("%04d%02d%02d", year, month, day)
+            }
+        }
+    }
+    split("Food Rent Travel Shopping Bills Health Fuel Salary", categories, " ")
+    split("UPI CARD NEFT ATM IMPS", csvMethods, " ")
+    split("POS DEBIT ATM CASH XFER", ofxTypes, " ")
+
+    if (fmt == "csv") {
+        line = "date,amount,type,category,description,payment_method"
+        print line
+    } else {
+        line = "OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>"
+        print line
+    }
+    bytes = length(line) + 1
+
+    for (i = 1; bytes < limit; i++) {
+        date = dates[i % 730]
+        income = i % 4 == 0
+        rupees = 1 + (i * 7919) % 49999
+        paise = i % 100
+        if (fmt == "csv") {
+            if (i % 10 == 0) {
+                amount = sprintf("\"%d,%03d.%02d\"", 1 + i % 99, rupees % 1000, paise)
+            } else {
+                amount = sprintf("%d.%02d", rupees, paise)
+            }
+            line = sprintf("%s-%s-%s,%s,%s,%s,Bench row %d,%s",
+                    substr(date, 1, 4), substr(date, 5, 2), substr(date, 7, 2), amount,
+                    income ? "CREDIT" : "DEBIT", categories[1 + i % 8], i, csvMethods[1 + i % 5])
+        } else {
+            sign = income ? "" : "-"
+            if (i % 10 == 0) {
+                amount = sprintf("%s%d.%03d,%02d", sign, 1 + i % 99, rupees % 1000, paise)
+            } else {
+                amount = sprintf("%s%d.%02d", sign, rupees, paise)
+            }
+            line = sprintf("<STMTTRN>\n<TRNTYPE>%s\n<DTPOSTED>%s120000\n<TRNAMT>%s\n<FITID>%d\n<NAME>Bench merchant %d\n<MEMO>Bench row %d\n</STMTTRN>",
+                    income ? "CREDIT" : ofxTypes[1 + i % 5], date, amount, i, i % 1000, i)
+        }
+        print line
+        bytes += length(line) + 1
+    }
+    if (fmt == "ofx") {
+        print "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>"
+    }
+    printf "%d transactions\n", i - 1 > "/dev/stderr"
+}' > "$OUT"
+
+ls -l "$OUT"
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Statement import throughput - file upload karo, job khatam hone tak poll, phir rows/s aur MB/s
+#
+#   bench/generate-statement.sh csv 500 /tmp/statement-500mb.csv
+#   bench/import-throughput.sh /tmp/statement-500mb.csv 9990001
+#   bench/import-throughput.sh /tmp/statement-500mb.ofx 9990002 http://localhost:8082
+#
+# transaction-service seedha (gateway ke bina) chal raha ho. Har run naya userId lo - wahi file
+# usi user pe dobara = saari rows duplicates (skip-duplicates); wo dedupe path ka naap hai.
+# Knobs: transaction.import.chunk-size / workers, spring.datasource reWriteBatchedInserts.
+# Safai: DELETE /api/transactions/user/{userId}/all?background=true
+#
+# Numbers machine aur Postgres settings pe depend karte hain - apne setup pe naapo.
+set -euo pipefail
+
+FILE=${1:?"usage: $0 <statement-file> <userId> [base-url]"}
+USER_ID=${2:?"usage: $0 <statement-file> <userId> [base-url]"}
+BASE_URL=${3:-http://localhost:8082}
+
+# Flat JSON se ek field (jq ke bina)
+field() {
+  sed -n "s/.*\"$1\":\"\{0,1\}\([^,\"}]*\).*/\1/p" <<< "$2"
+}
+
+now() {
+  date +%s.%N
+}
+
+size=$(stat -c %s "$FILE" 2>/dev/null || stat -f %z "$FILE")
+started=$(now)
+response=$(curl -sS --fail-with-body -F "file=@${FILE}" "$BASE_URL/api/transactions/user/$USER_ID/import")
+uploaded=$(now)
+job_id=$(field jobId "$response")
+if [ -z "$job_id" ]; then
+  echo "Import did not start: $response" >&2
+  exit 1
+fi
+echo "job $job_id - upload $(awk -v a="$started" -v b="$uploaded" 'BEGIN { printf "%.1f", b - a }') s"
+
+while :; do
+  job=$(curl -sS --fail-with-body "$BASE_URL/api/transactions/import/$job_id")
+  status=$(field status "$job")
+  [ "$status" != "RUNNING" ] && break
+  printf '\r  %s / %s bytes, %s records' "$(field bytesRead "$job")" "$size" "$(field recordsRead "$job")"
+  sleep 1
+done
+finished=$(now)
+echo
+
+records=$(field recordsRead "$job")
+error=$(field error "$job")
+echo "status:     $status$([ "$error" != "null" ] && echo " - $error")"
+echo "records:    $records (accepted $(field accepted "$job"), rejected $(field rejected "$job"), duplicates $(field duplicates "$job"))"
+awk -v a="$started" -v b="$finished" -v rows="$records" -v bytes="$size" 'BEGIN {
+  seconds = b - a
+  printf "total:      %.1f s (upload + parse + insert)\n", seconds
+  printf "throughput: %.0f rows/s, %.1f MB/s\n", rows / seconds, bytes / 1048576 / seconds
+}'
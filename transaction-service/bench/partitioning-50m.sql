@@ -0,0 +1,117 @@
+-- Partitioning benchmark - 50,000,000 transactions, partitioned `transactions` vs ek unpartitioned copy
+--
+-- Chalane ka tareeka (khaali transaction_db pe, transaction-service ek baar start ho chuka ho - Flyway schema):
+--   psql -h localhost -p 5433 -U postgres -d transaction_db -f bench/partitioning-50m.sql
+--   chhota run: psql ... -v rows=1000000 -f bench/partitioning-50m.sql
+--
+-- Data: 100,000 users (9000000-9099999), 2020-2024 ke 60 mahine, har mahine ka apna partition.
+-- transactions_flat = wahi rows, wahi PK aur indexes, bina partitioning ke.
+-- Har query dono tables pe EXPLAIN (ANALYZE, BUFFERS) - "Execution Time", buffers aur kitne
+-- partitions scan hue, compare karo. Ek user ki range (index) dono pe barabar honi chahiye;
+-- farak saare users ke mahine wali scans aur range deletes mein dikhta hai.
+-- Disk: dono tables milake ~15 GB. Aakhir mein flat copy aur bench rows hata di jaati hain.
+--
+-- Numbers machine aur Postgres settings pe depend karte hain - apne setup pe naapo.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 50000000
+\endif
+\timing on
+
+INSERT INTO categories (name)
+SELECT 'Bench' || c FROM generate_series(0, 7) c
+ON CONFLICT (name) DO NOTHING;
+
+SELECT ensure_transactions_partition(CAST(m AS DATE))
+FROM generate_series(DATE '2020-01-01', DATE '2024-12-01', INTERVAL '1 month') m;
+
+CREATE TEMP TABLE bench_categories AS
+SELECT id, CAST(substring(name FROM 6) AS INTEGER) AS slot
+FROM categories WHERE name ~ '^Bench[0-7]$';
+
+-- 1827 din = 2020-01-01 se 2024-12-31; har user ke ~500 rows poore 5 saal mein faile hue
+INSERT INTO transactions (id, user_id, amount, type, category_id, description,
+                          transaction_date, payment_method, created_at)
+SELECT 9000000000000 + g, 9000000 + g % 100000, (g * 7919 % 500000) / 100.0 + 1,
+       CASE WHEN g % 4 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+       c.id, 'bench ' || g, DATE '2020-01-01' + CAST(g % 1827 AS INTEGER), 'UPI', now()
+FROM generate_series(1, CAST(:rows AS BIGINT)) g
+JOIN bench_categories c ON c.slot = g % 8;
+
+CREATE TABLE transactions_flat (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+
+INSERT INTO transactions_flat
+SELECT * FROM transactions WHERE user_id BETWEEN 9000000 AND 9099999;
+
+ALTER TABLE transactions_flat ADD PRIMARY KEY (id, transaction_date);
+CREATE INDEX ON transactions_flat (user_id, transaction_date, id) INCLUDE (type, amount, category_id);
+CREATE INDEX ON transactions_flat (user_id, category_id, id);
+
+VACUUM ANALYZE transactions;
+VACUUM ANALYZE transactions_flat;
+
+\echo '=== 1. Ek user, ek quarter (findResponsesByUserIdAndDateRange) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, user_id, amount, type, category_id, description, transaction_date, payment_method
+FROM transactions
+WHERE user_id = 9000042 AND transaction_date BETWEEN DATE '2024-01-01' AND DATE '2024-03-31'
+ORDER BY transaction_date, id;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, user_id, amount, type, category_id, description, transaction_date, payment_method
+FROM transactions_flat
+WHERE user_id = 9000042 AND transaction_date BETWEEN DATE '2024-01-01' AND DATE '2024-03-31'
+ORDER BY transaction_date, id;
+
+\echo '=== 2. Ek user, ek saal ka summary (getSummaryByDateRange) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END),
+       SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), COUNT(*)
+FROM transactions
+WHERE user_id = 9000042 AND transaction_date BETWEEN DATE '2023-01-01' AND DATE '2023-12-31';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END),
+       SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), COUNT(*)
+FROM transactions_flat
+WHERE user_id = 9000042 AND transaction_date BETWEEN DATE '2023-01-01' AND DATE '2023-12-31';
+
+\echo '=== 3. Saare users, ek mahina (reporting scan) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*), SUM(amount) FROM transactions
+WHERE transaction_date BETWEEN DATE '2024-06-01' AND DATE '2024-06-30';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*), SUM(amount) FROM transactions_flat
+WHERE transaction_date BETWEEN DATE '2024-06-01' AND DATE '2024-06-30';
+
+\echo '=== 4. Ek user ki date range delete (deleteTransactionsByDateRange) - rollback ==='
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE FROM transactions
+WHERE user_id = 9000042 AND transaction_date BETWEEN DATE '2022-01-01' AND DATE '2022-12-31';
+ROLLBACK;
+
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE FROM transactions_flat
+WHERE user_id = 9000042 AND transaction_date BETWEEN DATE '2022-01-01' AND DATE '2022-12-31';
+ROLLBACK;
+
+\echo '=== 5. Retention - sabse purana mahina hatao: row DELETE vs partition DETACH + DROP - rollback ==='
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE FROM transactions_flat WHERE transaction_date < DATE '2020-02-01';
+ROLLBACK;
+
+BEGIN;
+ALTER TABLE transactions DETACH PARTITION transactions_p202001;
+DROP TABLE transactions_p202001;
+ROLLBACK;
+
+\echo '=== Safai ==='
+DROP TABLE transactions_flat;
+DELETE FROM transactions WHERE user_id BETWEEN 9000000 AND 9099999;
+VACUUM ANALYZE transactions;
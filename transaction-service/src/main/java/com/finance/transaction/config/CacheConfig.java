@@ -0,0 +1,65 @@
+package com.finance.transaction.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Cache Configuration
+ *
+ * In-process Caffeine caches, sab keys per-user hain.
+ * Summary cache entries se bounded hai, list caches total rows se (weigher),
+ * taaki ek heavy user poori heap na kha jaaye.
+ * recordStats() se hit/miss/eviction actuator metrics (cache.*) mein aate hain.
+ *
+ * idempotencyKeys alag hai - write replay ke liye, TTL lamba aur per-user nahi.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SUMMARY_CACHE = "transactionSummary";
+    public static final String LIST_CACHE = "transactionLists";
+    public static final String TYPE_LIST_CACHE = "transactionsByType";
+    public static final String IDEMPOTENCY_CACHE = "idempotencyKeys";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${transaction.cache.ttl:5m}") Duration ttl,
+            @Value("${transaction.cache.summary-max-entries:10000}") long summaryMaxEntries,
+            @Value("${transaction.cache.list-max-rows:200000}") long listMaxRows,
+            @Value("${transaction.idempotency.ttl:24h}") Duration idempotencyTtl,
+            @Value("${transaction.idempotency.max-entries:100000}") long idempotencyMaxEntries) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(SUMMARY_CACHE, Caffeine.newBuilder()
+                .maximumSize(summaryMaxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(LIST_CACHE, listCache(ttl, listMaxRows));
+        cacheManager.registerCustomCache(TYPE_LIST_CACHE, listCache(ttl, listMaxRows));
+        cacheManager.registerCustomCache(IDEMPOTENCY_CACHE, Caffeine.newBuilder()
+                .maximumSize(idempotencyMaxEntries)
+                .expireAfterWrite(idempotencyTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> listCache(Duration ttl, long maxRows) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Object key, Object value) ->
+                        value instanceof Collection<?> rows ? Math.max(1, rows.size()) : 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.finance.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statement import settings (transaction.import.*)
+ *
+ * Har bank ka CSV layout alag hota hai - column names aur type/payment
+ * values ki mapping yahin se aati hai, code change nahi karna padta.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "transaction.import")
+public class ImportProperties {
+
+    private int chunkSize = 1000;
+    private int maxErrors = 1000;
+    private int workers = 2;
+    private long retentionMinutes = 60;
+    private String defaultCategory = "Uncategorized";
+    private boolean skipDuplicates = true;
+
+    private Csv csv = new Csv();
+    private Ofx ofx = new Ofx();
+
+    @Data
+    public static class Csv {
+
+        private char delimiter = ',';
+        private String dateFormat = "yyyy-MM-dd";
+
+        /**
+         * Field -> CSV header name. Type column na ho to amount ka sign
+         * decide karta hai (negative = EXPENSE).
+         */
+        private Map<String, String> columns = new LinkedHashMap<>(Map.of(
+                "date", "date",
+                "amount", "amount",
+                "type", "type",
+                "category", "category",
+                "description", "description",
+                "payment-method", "payment_method"));
+
+        /** File ki type value -> INCOME/EXPENSE */
+        private Map<String, String> typeMapping = new LinkedHashMap<>();
+
+        /** File ki payment value -> PaymentMethod */
+        private Map<String, String> paymentMethodMapping = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Ofx {
+
+        /** OFX TRNTYPE -> PaymentMethod */
+        private Map<String, String> paymentMethodMapping = new LinkedHashMap<>();
+    }
+}
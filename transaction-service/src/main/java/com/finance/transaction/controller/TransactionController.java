@@ -1,16 +1,38 @@
 package com.finance.transaction.controller;
 
 import com.finance.transaction.dto.*;
+import com.finance.transaction.model.AnalyticsGroupBy;
+import com.finance.transaction.model.ExportFormat;
+import com.finance.transaction.model.PaymentMethod;
 import com.finance.transaction.model.Transaction;
+import com.finance.transaction.model.RollupGranularity;
+import com.finance.transaction.model.StatementFormat;
+import com.finance.transaction.model.TransactionType;
+import com.finance.transaction.service.IdempotencyConflictException;
+import com.finance.transaction.service.IdempotencyService;
+import com.finance.transaction.service.RollupService;
+import com.finance.transaction.service.StatementImportService;
+import com.finance.transaction.service.TransactionAnalyticsService;
+import com.finance.transaction.service.TransactionChangeFeed;
+import com.finance.transaction.service.TransactionExportService;
+import com.finance.transaction.service.TransactionPurgeService;
 import com.finance.transaction.service.TransactionService;
+import com.finance.transaction.service.UserTotalsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -21,17 +43,65 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final UserTotalsService userTotalsService;
+    private final TransactionPurgeService purgeService;
+    private final RollupService rollupService;
+    private final TransactionExportService exportService;
+    private final StatementImportService importService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionAnalyticsService analyticsService;
+    private final TransactionChangeFeed changeFeed;
 
+    /**
+     * Create Transaction
+     *
+     * POST /api/transactions
+     * Header: Idempotency-Key: <client generated id>  (optional)
+     *
+     * Same key ke saath retry pe original response wapas milta hai (Idempotent-Replayed: true),
+     * naya row nahi banta. Same key + alag body = 409.
+     */
     @PostMapping
-    public ResponseEntity<?> createTransaction(@Valid @RequestBody TransactionRequest request) {
+    public ResponseEntity<?> createTransaction(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
+            if (idempotencyKey != null) {
+                IdempotencyService.Result result = idempotencyService.createTransaction(idempotencyKey, request);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .header("Idempotent-Replayed", String.valueOf(result.isReplayed()))
+                        .body(result.getResponse());
+            }
             TransactionResponse response = transactionService.createTransaction(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IdempotencyConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
 
+    /**
+     * Batch Create
+     *
+     * POST /api/transactions/batch
+     * Body: [ {TransactionRequest}, ... ]
+     *
+     * Har item ka alag result milta hai - kuch items invalid hon to bhi baaki save hote hain
+     * skipDuplicates=true (default): already stored rows jaise items skip (duplicate=true)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTransactions(
+            @RequestBody List<TransactionRequest> requests,
+            @RequestParam(defaultValue = "true") boolean skipDuplicates) {
+        try {
+            BatchResult result = transactionService.createTransactions(requests, skipDuplicates);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<TransactionResponse>> getAllTransactions(@PathVariable Long userId) {
         List<TransactionResponse> transactions = transactionService.getAllTransactions(userId);
@@ -63,6 +133,255 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * Rollup Analytics
+     *
+     * GET /api/transactions/user/{userId}/rollup?granularity=MONTH&from=2024-01-01&to=2024-12-31
+     *
+     * Per-category, per-type buckets - pre-aggregated table se, raw rows scan nahi hoti
+     */
+    @GetMapping("/user/{userId}/rollup")
+    public ResponseEntity<?> getRollup(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "MONTH") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            RollupGranularity rollupGranularity = RollupGranularity.valueOf(granularity.toUpperCase());
+            return ResponseEntity.ok(rollupService.getBuckets(userId, rollupGranularity, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Monthly Summary
+     *
+     * GET /api/transactions/user/{userId}/monthly-summary?month=2024-03
+     *
+     * Income, expense aur category-wise expense - MONTH rollup se, sirf aggregates wire pe
+     */
+    @GetMapping("/user/{userId}/monthly-summary")
+    public ResponseEntity<?> getMonthlySummary(
+            @PathVariable Long userId,
+            @RequestParam String month) {
+        try {
+            return ResponseEntity.ok(rollupService.getMonthlySummary(userId, YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "month must be yyyy-MM: " + month));
+        }
+    }
+
+    /**
+     * Slicing Analytics
+     *
+     * GET /api/transactions/user/{userId}/analytics?groupBy=CATEGORY&type=EXPENSE&paymentMethod=UPI
+     *     &category=Food&from=2024-01-01&to=2024-03-31
+     *
+     * Saare filters optional. In-memory columnar store se - pehli query user ko load karti hai,
+     * baaki queries DB nahi jaati
+     */
+    @GetMapping("/user/{userId}/analytics")
+    public ResponseEntity<?> getAnalytics(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "NONE") String groupBy,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(analyticsService.analyze(userId,
+                    type != null ? TransactionType.valueOf(type.toUpperCase()) : null,
+                    category,
+                    paymentMethod != null ? PaymentMethod.valueOf(paymentMethod.toUpperCase()) : null,
+                    from, to,
+                    AnalyticsGroupBy.valueOf(groupBy.toUpperCase())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Keyset Paginated Listing
+     *
+     * GET /api/transactions/user/{userId}?limit=100&cursor=<nextCursor>
+     * GET /api/transactions/user/{userId}/type/{type}?limit=100&cursor=<nextCursor>
+     * GET /api/transactions/user/{userId}/date-range?startDate=&endDate=&limit=100&cursor=<nextCursor>
+     *
+     * Order: transactionDate, id. Pehli page ke liye cursor mat bhejo.
+     */
+    @GetMapping(value = "/user/{userId}", params = "limit")
+    public ResponseEntity<?> getTransactionsPage(
+            @PathVariable Long userId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(transactionService.getTransactionsPage(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}/type/{type}", params = "limit")
+    public ResponseEntity<?> getTransactionsByTypePage(
+            @PathVariable Long userId,
+            @PathVariable String type,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(
+                    transactionService.getTransactionsByTypePage(userId, type, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}/date-range", params = "limit")
+    public ResponseEntity<?> getTransactionsByDateRangePage(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(transactionService.getTransactionsByDateRangePage(
+                    userId, startDate, endDate, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Streaming Listing
+     *
+     * GET /api/transactions/user/{userId}?stream=true
+     * (type/{type} aur date-range pe bhi same param)
+     *
+     * Rows JDBC cursor se aate hi JSON array mein likhi jaati hain - memory flat rehti hai
+     */
+    @GetMapping(value = "/user/{userId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTransactions(@PathVariable Long userId) {
+        StreamingResponseBody body = out -> transactionService.streamAllTransactions(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(value = "/user/{userId}/type/{type}", params = "stream=true")
+    public ResponseEntity<?> streamTransactionsByType(
+            @PathVariable Long userId,
+            @PathVariable String type) {
+        TransactionType transactionType;
+        try {
+            transactionType = TransactionType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid type: " + type));
+        }
+        StreamingResponseBody body =
+                out -> transactionService.streamTransactionsByType(userId, transactionType, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(value = "/user/{userId}/date-range", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByDateRange(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        StreamingResponseBody body = out -> transactionService
+                .streamTransactionsByDateRange(userId, startDate, endDate, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Export
+     *
+     * GET /api/transactions/user/{userId}/export?format=csv|ndjson&from=2024-01-01&to=2024-12-31
+     * Header: Accept-Encoding: gzip  (optional - response on the fly compress hota hai)
+     *
+     * from/to optional hain. Rows DB cursor se seedha response mein stream hoti hain.
+     */
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<?> exportTransactions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid format: " + format));
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must not be after to"));
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(userId, exportFormat, from, to, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.export(userId, exportFormat, from, to, out);
+            }
+        };
+
+        String extension = exportFormat == ExportFormat.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions-" + userId + "." + extension)
+                        .build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Statement Import
+     *
+     * POST /api/transactions/user/{userId}/import  (multipart/form-data)
+     * Parts: file=<statement>, format=csv|ofx (optional - .ofx/.qfx extension se OFX)
+     *
+     * 202 + job milta hai; progress aur per-line errors GET /import/{jobId} se
+     */
+    @PostMapping(value = "/user/{userId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStatement(
+            @PathVariable Long userId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) {
+        try {
+            StatementFormat statementFormat = format != null
+                    ? StatementFormat.valueOf(format.toUpperCase())
+                    : detectFormat(file.getOriginalFilename());
+            return ResponseEntity.accepted().body(importService.startImport(userId, statementFormat, file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.error("Statement upload failed for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Could not store uploaded file"));
+        }
+    }
+
+    /**
+     * Import Job Status
+     *
+     * GET /api/transactions/import/{jobId}
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable String jobId) {
+        return importService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse(false, "Import job not found: " + jobId)));
+    }
+
     /**
      * Delete Transaction by ID
      *
@@ -87,16 +406,23 @@ public class TransactionController {
      * Delete All Transactions by User ID
      *
      * DELETE /api/transactions/user/{userId}/all
+     * DELETE /api/transactions/user/{userId}/all?background=true  (bahut bade purge ke liye)
      * Header: Authorization: Bearer <token>
      * CAUTION: Ye sabhi transactions delete kar dega!
      */
     @DeleteMapping("/user/{userId}/all")
-    public ResponseEntity<?> deleteAllTransactionsByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> deleteAllTransactionsByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean background) {
+        if (background) {
+            return ResponseEntity.accepted().body(purgeService.purgeAll(userId));
+        }
         try {
-            transactionService.deleteAllTransactionsByUser(userId);
+            int deleted = transactionService.deleteAllTransactionsByUser(userId);
             return ResponseEntity.ok(new ApiResponse(
                     true,
-                    "All transactions deleted successfully!"
+                    "All transactions deleted successfully!",
+                    Map.of("deleted", deleted)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -113,12 +439,46 @@ public class TransactionController {
     @DeleteMapping("/user/{userId}/category/{category}")
     public ResponseEntity<?> deleteTransactionsByCategory(
             @PathVariable Long userId,
-            @PathVariable String category) {
+            @PathVariable String category,
+            @RequestParam(defaultValue = "false") boolean background) {
+        if (background) {
+            return ResponseEntity.accepted().body(purgeService.purgeCategory(userId, category));
+        }
+        try {
+            int deleted = transactionService.deleteTransactionsByCategory(userId, category);
+            return ResponseEntity.ok(new ApiResponse(
+                    true,
+                    "Transactions in category '" + category + "' deleted successfully!",
+                    Map.of("deleted", deleted)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    /**
+     * Delete Transactions by Date Range
+     *
+     * DELETE /api/transactions/user/{userId}/date-range?startDate=2024-01-01&endDate=2024-12-31
+     * Header: Authorization: Bearer <token>
+     */
+    @DeleteMapping("/user/{userId}/date-range")
+    public ResponseEntity<?> deleteTransactionsByDateRange(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean background) {
+        if (background) {
+            return ResponseEntity.accepted()
+                    .body(purgeService.purgeDateRange(userId, startDate, endDate));
+        }
         try {
-            transactionService.deleteTransactionsByCategory(userId, category);
+            int deleted = transactionService.deleteTransactionsByDateRange(userId, startDate, endDate);
             return ResponseEntity.ok(new ApiResponse(
                     true,
-                    "Transactions in category '" + category + "' deleted successfully!"
+                    "Transactions between " + startDate + " and " + endDate + " deleted successfully!",
+                    Map.of("deleted", deleted)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -126,6 +486,19 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Background Purge Progress
+     *
+     * GET /api/transactions/purge/{jobId}
+     */
+    @GetMapping("/purge/{jobId}")
+    public ResponseEntity<?> getPurgeJob(@PathVariable String jobId) {
+        return purgeService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse(false, "Purge job not found: " + jobId)));
+    }
+
 
     /**
      * UPDATE TRANSACTION
@@ -165,6 +538,57 @@ public class TransactionController {
 
 
 
+    /**
+     * user_totals Rebuild / Verify
+     *
+     * POST /api/transactions/user/{userId}/totals/rebuild  - ek user
+     * POST /api/transactions/totals/rebuild                - sabhi users
+     * GET  /api/transactions/user/{userId}/totals/verify   - drift check, kuch change nahi karta
+     */
+    @PostMapping("/user/{userId}/totals/rebuild")
+    public ResponseEntity<TransactionSummary> rebuildUserTotals(@PathVariable Long userId) {
+        return ResponseEntity.ok(userTotalsService.rebuild(userId));
+    }
+
+    @PostMapping("/totals/rebuild")
+    public ResponseEntity<?> rebuildAllUserTotals() {
+        int users = userTotalsService.rebuildAll();
+        return ResponseEntity.ok(new ApiResponse(
+                true,
+                "user_totals rebuilt for " + users + " users"
+        ));
+    }
+
+    @GetMapping("/user/{userId}/totals/verify")
+    public ResponseEntity<TotalsVerification> verifyUserTotals(@PathVariable Long userId) {
+        return ResponseEntity.ok(userTotalsService.verify(userId));
+    }
+
+    /**
+     * Change Feed (published outbox events)
+     *
+     * GET /api/transactions/changes?after=<last seq>&limit=500
+     * GET /api/transactions/changes/snapshot/{userId}
+     *
+     * Consumer apna checkpoint (aakhri seq) khud rakhe. earliestSeq > checkpoint + 1 ho to
+     * beech ke events expire ho chuke - snapshot se resync karo.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(changeFeed.page(after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/changes/snapshot/{userId}")
+    public ResponseEntity<ChangeFeedSnapshot> getChangeSnapshot(@PathVariable Long userId) {
+        return ResponseEntity.ok(changeFeed.snapshot(userId));
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Transaction Service is running!");
@@ -176,6 +600,47 @@ public class TransactionController {
 
 
 
+    /**
+     * Accept-Encoding mein gzip (ya *) q > 0 ke saath ho tabhi true - "gzip;q=0" matlab mat bhejo
+     * gzip ka apna entry "*" se upar; q galat ho to wo entry 0 maani jaati hai
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQ = -1;
+        double anyQ = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                anyQ = Math.max(anyQ, q);
+            }
+        }
+        return (gzipQ >= 0 ? gzipQ : anyQ) > 0;
+    }
+
+    /**
+     * Upload ke file name se format - .ofx / .qfx = OFX, baaki sab CSV
+     */
+    private StatementFormat detectFormat(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase() : "";
+        return name.endsWith(".ofx") || name.endsWith(".qfx") ? StatementFormat.OFX : StatementFormat.CSV;
+    }
+
     /**
      * API Response Helper Class
      */
@@ -0,0 +1,16 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+/**
+ * Ek group ka aggregate - key groupBy ke hisaab se (category naam, type, payment method)
+ * Payment method ke bina wali rows ka key null hai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsGroup {
+
+    private String key;
+    private TransactionSummary summary;
+}
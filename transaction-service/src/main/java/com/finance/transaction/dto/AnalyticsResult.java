@@ -0,0 +1,14 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsResult {
+
+    private TransactionSummary total;
+    private List<AnalyticsGroup> groups;
+}
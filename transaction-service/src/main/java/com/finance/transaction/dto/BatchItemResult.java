@@ -0,0 +1,21 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Batch mein ek item ka result - index request array ki position hai
+ * duplicate = item pehle se stored transaction jaisa tha, isliye save nahi hua
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private Integer index;
+    private Boolean success;
+    private Boolean duplicate;
+    private Long id;
+    private List<String> errors;
+}
@@ -0,0 +1,19 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Batch ingestion response - invalid items baaki batch ko fail nahi karte
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+
+    private Integer accepted;
+    private Integer rejected;
+    private Integer duplicates;
+    private List<BatchItemResult> items;
+}
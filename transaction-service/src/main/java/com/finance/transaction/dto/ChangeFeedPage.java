@@ -0,0 +1,22 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Change feed ka ek page - events seq order mein
+ *
+ * Agla page: after = aakhri event ka seq. earliestSeq = feed mein abhi sabse purana seq;
+ * consumer ka checkpoint + 1 isse chhota ho to beech ke events cleanup ho chuke hain
+ * (consumer ko snapshot se resync karna chahiye). Feed khali ho to dono null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPage {
+
+    private List<TransactionChangeEvent> events;
+    private Long earliestSeq;
+    private Long latestSeq;
+}
@@ -0,0 +1,21 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Ek user ki daily buckets + us point tak ka aakhri event id
+ *
+ * Is user ke eventId <= lastEventId wale events daily mein already shaamil hain,
+ * consumer unhe skip kare; baaki feed se apply kare.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedSnapshot {
+
+    private Long userId;
+    private Long lastEventId;
+    private List<RollupBucket> daily;
+}
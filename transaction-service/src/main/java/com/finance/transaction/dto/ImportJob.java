@@ -0,0 +1,34 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background statement import ka progress
+ *
+ * status: RUNNING, COMPLETED, FAILED
+ * errors maxErrors tak hi rakhe jaate hain, rejected count poora hota hai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    private String jobId;
+    private Long userId;
+    private String format;
+    private String fileName;
+    private volatile String status;
+    private Long totalBytes;
+    private volatile Long bytesRead;
+    private volatile Long recordsRead;
+    private volatile Long accepted;
+    private volatile Long rejected;
+    private volatile Long duplicates;
+    private List<ImportLineError> errors;
+    private LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+}
@@ -0,0 +1,17 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Import mein reject hui line - line file ki line number hai (1-based)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportLineError {
+
+    private Long line;
+    private List<String> errors;
+}
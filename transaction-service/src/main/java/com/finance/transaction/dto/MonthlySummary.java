@@ -0,0 +1,22 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Ek mahine ka aggregate - month "yyyy-MM", categoryWiseExpense sirf EXPENSE ka
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummary {
+
+    private String month;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    private Long totalTransactions;
+    private Map<String, BigDecimal> categoryWiseExpense;
+}
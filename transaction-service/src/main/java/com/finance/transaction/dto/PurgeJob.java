@@ -0,0 +1,25 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background purge job ka progress
+ *
+ * status: RUNNING, COMPLETED, FAILED
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeJob {
+
+    private String jobId;
+    private Long userId;
+    private String scope;
+    private volatile String status;
+    private volatile Long deletedCount;
+    private LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+}
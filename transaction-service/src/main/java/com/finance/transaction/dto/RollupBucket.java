@@ -0,0 +1,21 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ek rollup bucket - bucketDate DAY ke liye din, MONTH ke liye mahine ki pehli tareekh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBucket {
+
+    private LocalDate bucketDate;
+    private String category;
+    private String type;
+    private BigDecimal totalAmount;
+    private Long count;
+}
@@ -0,0 +1,17 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+/**
+ * user_totals verify result - stored vs transactions table se recomputed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalsVerification {
+
+    private Long userId;
+    private TransactionSummary stored;
+    private TransactionSummary actual;
+    private Boolean consistent;
+}
@@ -0,0 +1,32 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Ek change event - (user, date, category, type) bucket pe signed delta
+ *
+ * eventId = outbox row id, redelivery pe same rehta hai (consumers isse dedupe karein).
+ * seq = publish order. transactionId sirf single-row changes pe, batch/bulk pe null.
+ * Update = purani values ka minus + nayi values ka plus (bucket badla ho to do events).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChangeEvent {
+
+    private Long eventId;
+    private Long seq;
+    private Long userId;
+    private Long transactionId;
+    private String changeType;
+    private String type;
+    private String category;
+    private LocalDate transactionDate;
+    private BigDecimal amountDelta;
+    private Long countDelta;
+    private LocalDateTime occurredAt;
+}
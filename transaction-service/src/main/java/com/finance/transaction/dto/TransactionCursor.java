@@ -0,0 +1,49 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset cursor - (transactionDate, id) ka last seen position
+ *
+ * Client ko ye Base64 token ki tarah milta hai, andar ka format
+ * expose nahi karte taaki baad mein change kar sakein.
+ * Immutable - START saare first-page requests mein share hota hai.
+ */
+@Value
+public class TransactionCursor {
+
+    /**
+     * First page ke liye - har real row isse aage hoti hai
+     */
+    public static final TransactionCursor START =
+            new TransactionCursor(LocalDate.of(1, 1, 1), 0L);
+
+    private LocalDate transactionDate;
+    private Long id;
+
+    public String encode() {
+        String raw = transactionDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new TransactionCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.finance.transaction.dto;
+
+import com.finance.transaction.model.PaymentMethod;
+import com.finance.transaction.model.Transaction;
+import com.finance.transaction.model.TransactionType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Analytics store ke liye ek row - sirf filter/aggregate wale columns (description nahi)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFact {
+
+    private Long id;
+    private LocalDate transactionDate;
+    private BigDecimal amount;
+    private TransactionType type;
+    private PaymentMethod paymentMethod;
+    private String category;
+
+    public static TransactionFact of(Transaction transaction) {
+        return new TransactionFact(transaction.getId(), transaction.getTransactionDate(),
+                transaction.getAmount(), transaction.getType(),
+                transaction.getPaymentMethod(), transaction.getCategory());
+    }
+}
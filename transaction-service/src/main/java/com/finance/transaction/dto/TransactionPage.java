@@ -0,0 +1,21 @@
+package com.finance.transaction.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Keyset paginated response
+ *
+ * nextCursor opaque token hai - next page ke liye wapas bhejo.
+ * hasMore false ho to ye last page hai.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+
+    private List<TransactionResponse> content;
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -22,6 +22,7 @@ public class TransactionRequest {
     private String type;
 
     @NotBlank(message = "Category is required")
+    @Size(max = 50, message = "Category must be at most 50 characters")
     private String category;
 
     private String description;
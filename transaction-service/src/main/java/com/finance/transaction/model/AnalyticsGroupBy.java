@@ -0,0 +1,8 @@
+package com.finance.transaction.model;
+
+public enum AnalyticsGroupBy {
+    NONE,            // sirf total
+    TYPE,
+    CATEGORY,
+    PAYMENT_METHOD
+}
@@ -0,0 +1,31 @@
+package com.finance.transaction.model;
+
+import com.finance.common.CategoryDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Category naam (entity / JPQL) <-> category_id (DB column)
+ *
+ * Hibernate isko Spring bean container se banata hai, isliye dictionary inject hoti hai.
+ * JPQL parameters (t.category = :category) bhi isi se convert hote hain.
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+
+    private final CategoryDictionary categoryDictionary;
+
+    public CategoryConverter(CategoryDictionary categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String category) {
+        return category != null ? categoryDictionary.idOf(category) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer categoryId) {
+        return categoryId != null ? categoryDictionary.nameOf(categoryId) : null;
+    }
+}
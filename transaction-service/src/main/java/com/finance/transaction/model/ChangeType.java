@@ -0,0 +1,7 @@
+package com.finance.transaction.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,6 @@
+package com.finance.transaction.model;
+
+public enum ExportFormat {
+    CSV,     // text/csv, pehli line header
+    NDJSON   // application/x-ndjson, har line ek JSON object
+}
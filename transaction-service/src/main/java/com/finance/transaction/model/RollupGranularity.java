@@ -0,0 +1,6 @@
+package com.finance.transaction.model;
+
+public enum RollupGranularity {
+    DAY,     // bucket_date = transaction date
+    MONTH    // bucket_date = mahine ki pehli tareekh
+}
@@ -0,0 +1,6 @@
+package com.finance.transaction.model;
+
+public enum StatementFormat {
+    CSV,   // header row + configurable column mapping
+    OFX    // OFX 1.x (SGML) ya 2.x (XML) bank statement
+}
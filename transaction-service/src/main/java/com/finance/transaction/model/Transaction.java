@@ -23,8 +23,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Transaction {
 
+    /**
+     * Pooled sequence - Hibernate ek call mein 50 ids reserve karta hai,
+     * isliye inserts JDBC batch mein ja sakte hain (IDENTITY se batching band ho jaati hai)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -50,8 +55,10 @@ public class Transaction {
 
     /**
      * Category: Food, Transport, Salary, etc.
+     * DB mein categories dictionary ka id (category_id) - Java/API mein naam hi
      */
-    @Column(nullable = false, length = 50)
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
 
     /**
@@ -73,6 +80,13 @@ public class Transaction {
     @Column(length = 20)
     private PaymentMethod paymentMethod;
 
+    /**
+     * Content hash - (amount, date, category, description) ka fingerprint
+     * Re-import / retry se aaye near-duplicates pakadne ke liye
+     */
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     /**
      * Created timestamp
      */
@@ -0,0 +1,31 @@
+package com.finance.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * TransactionRollup Entity - per-category daily/monthly aggregates
+ *
+ * Write paths isse delta upsert se update karte hain, taaki range analytics
+ * buckets ki ginti pe depend kare, transactions ki ginti pe nahi
+ */
+@Entity
+@Table(name = "transaction_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionRollup {
+
+    @EmbeddedId
+    private TransactionRollupId id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Long txnCount;
+}
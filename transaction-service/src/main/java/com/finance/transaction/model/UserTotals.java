@@ -0,0 +1,38 @@
+package com.finance.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * UserTotals Entity - per-user running totals (read model)
+ *
+ * Har write pe delta se update hota hai, taaki summary ke liye
+ * transactions table scan na karni pade.
+ * Source of truth abhi bhi transactions table hi hai.
+ */
+@Entity
+@Table(name = "user_totals")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTotals {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalExpense;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+}
@@ -1,19 +1,34 @@
 package com.finance.transaction.repository;
 
+import com.finance.transaction.dto.RollupBucket;
+import com.finance.transaction.dto.TransactionFact;
+import com.finance.transaction.dto.TransactionResponse;
+import com.finance.transaction.dto.TransactionSummary;
 import com.finance.transaction.model.Transaction;
 import com.finance.transaction.model.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Transaction Repository
  *
  * Custom queries using JPQL (Java Persistence Query Language)
+ *
+ * transactions table transaction_date se monthly partitioned hai - date range wali queries
+ * transactionDate pe seedha (function ke bina) BETWEEN / >= / < predicate rakhein,
+ * tabhi planner baaki partitions prune karta hai. Sirf id wale lookups sab partitions dekhte hain.
  */
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -49,10 +64,221 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             "WHERE t.userId = :userId AND t.type = 'EXPENSE'")
     BigDecimal calculateTotalExpense(Long userId);
 
+    /**
+     * Summary ek hi pass mein - income, expense, balance aur count
+     * Conditional SUM/COUNT over type, koi entity load nahi hoti
+     */
+    @Query("SELECT new com.finance.transaction.dto.TransactionSummary(" +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0), " +
+            "COUNT(t)) " +
+            "FROM Transaction t WHERE t.userId = :userId")
+    TransactionSummary getSummary(Long userId);
+
+    /**
+     * Bulk delete se pehle hatne wali rows ka aggregate (user_totals delta ke liye)
+     */
+    @Query("SELECT new com.finance.transaction.dto.TransactionSummary(" +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0), " +
+            "COUNT(t)) " +
+            "FROM Transaction t WHERE t.userId = :userId AND t.category = :category")
+    TransactionSummary getSummaryByCategory(Long userId, String category);
+
+    @Query("SELECT new com.finance.transaction.dto.TransactionSummary(" +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0), " +
+            "COUNT(t)) " +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    TransactionSummary getSummaryByDateRange(Long userId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT new com.finance.transaction.dto.TransactionSummary(" +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0), " +
+            "COUNT(t)) " +
+            "FROM Transaction t WHERE t.id IN :ids")
+    TransactionSummary getSummaryByIds(List<Long> ids);
+
+    /**
+     * Bulk delete se pehle hatne wali rows ke daily buckets (rollup decrement ke liye)
+     */
+    @Query("SELECT new com.finance.transaction.dto.RollupBucket(" +
+            "t.transactionDate, t.category, CAST(t.type AS String), SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "GROUP BY t.transactionDate, t.category, t.type")
+    List<RollupBucket> getDailyBuckets(Long userId);
+
+    @Query("SELECT new com.finance.transaction.dto.RollupBucket(" +
+            "t.transactionDate, t.category, CAST(t.type AS String), SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.userId = :userId AND t.category = :category " +
+            "GROUP BY t.transactionDate, t.category, t.type")
+    List<RollupBucket> getDailyBucketsByCategory(Long userId, String category);
+
+    @Query("SELECT new com.finance.transaction.dto.RollupBucket(" +
+            "t.transactionDate, t.category, CAST(t.type AS String), SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.transactionDate, t.category, t.type")
+    List<RollupBucket> getDailyBucketsByDateRange(Long userId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT new com.finance.transaction.dto.RollupBucket(" +
+            "t.transactionDate, t.category, CAST(t.type AS String), SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.id IN :ids " +
+            "GROUP BY t.transactionDate, t.category, t.type")
+    List<RollupBucket> getDailyBucketsByIds(List<Long> ids);
+
+    /**
+     * Set-based deletes - ek DELETE statement, entities load nahi hoti
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId")
+    int deleteAllByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId AND t.category = :category")
+    int deleteAllByUserIdAndCategory(Long userId, String category);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    int deleteAllByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteAllByIds(List<Long> ids);
+
+    /**
+     * Background purge ke chunks - har call agle N ids deta hai
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.userId = :userId ORDER BY t.id")
+    List<Long> findIdsByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.category = :category ORDER BY t.id")
+    List<Long> findIdsByUserIdAndCategory(Long userId, String category, Pageable pageable);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.id")
+    List<Long> findIdsByUserIdAndDateRange(
+            Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
     /**
      * Get transaction count by category
      */
     @Query("SELECT t.category, COUNT(t) FROM Transaction t " +
             "WHERE t.userId = :userId GROUP BY t.category")
     List<Object[]> getTransactionCountByCategory(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * DTO projections - TransactionResponse seedha query se banta hai
+     * Entities hydrate/track nahi hoti, isliye dirty checking ka kaam bhi nahi
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.finance.transaction.dto.TransactionResponse(" +
+            "t.id, t.userId, t.amount, CAST(t.type AS String), t.category, t.description, " +
+            "t.transactionDate, CAST(t.paymentMethod AS String)) ";
+
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "ORDER BY t.transactionDate, t.id")
+    List<TransactionResponse> findResponsesByUserId(Long userId);
+
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId AND t.type = :type " +
+            "ORDER BY t.transactionDate, t.id")
+    List<TransactionResponse> findResponsesByUserIdAndType(Long userId, TransactionType type);
+
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transactionDate, t.id")
+    List<TransactionResponse> findResponsesByUserIdAndDateRange(
+            Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Keyset pagination - (transactionDate, id) ke baad wali rows
+     * OFFSET nahi use karte, isliye deep pages bhi utne hi fast hain
+     * "transactionDate >= :afterDate" redundant lagta hai, par isi se planner
+     * purane mahino ke partitions prune karta hai aur index range seedha wahin se shuru hoti hai
+     */
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate >= :afterDate " +
+            "AND (t.transactionDate > :afterDate " +
+            "OR (t.transactionDate = :afterDate AND t.id > :afterId)) " +
+            "ORDER BY t.transactionDate, t.id")
+    List<TransactionResponse> findPageByUserId(
+            Long userId, LocalDate afterDate, Long afterId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId AND t.type = :type " +
+            "AND t.transactionDate >= :afterDate " +
+            "AND (t.transactionDate > :afterDate " +
+            "OR (t.transactionDate = :afterDate AND t.id > :afterId)) " +
+            "ORDER BY t.transactionDate, t.id")
+    List<TransactionResponse> findPageByUserIdAndType(
+            Long userId, TransactionType type, LocalDate afterDate, Long afterId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "AND t.transactionDate >= :afterDate " +
+            "AND (t.transactionDate > :afterDate " +
+            "OR (t.transactionDate = :afterDate AND t.id > :afterId)) " +
+            "ORDER BY t.transactionDate, t.id")
+    List<TransactionResponse> findPageByUserIdAndTransactionDateBetween(
+            Long userId, LocalDate startDate, LocalDate endDate,
+            LocalDate afterDate, Long afterId, Pageable pageable);
+
+    /**
+     * Streaming reads - JDBC cursor se rows fetch size ke chunks mein aati hain
+     * Caller ko transaction ke andar stream consume aur close karna hoga
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionResponse> streamByUserId(Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId AND t.type = :type " +
+            "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionResponse> streamByUserIdAndType(Long userId, TransactionType type);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION +
+            "FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionResponse> streamByUserIdAndTransactionDateBetween(
+            Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Analytics store load - sirf columnar store wale columns, id order mein
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT new com.finance.transaction.dto.TransactionFact(" +
+            "t.id, t.transactionDate, t.amount, t.type, t.paymentMethod, t.category) " +
+            "FROM Transaction t WHERE t.userId = :userId ORDER BY t.id")
+    Stream<TransactionFact> streamFactsByUserId(Long userId);
+
+    /**
+     * Near-duplicate detection - content hashes (idx_transactions_user_content_hash)
+     */
+    long countByUserId(Long userId);
+
+    @Query("SELECT t.contentHash FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.contentHash IN :hashes")
+    List<Long> findExistingContentHashes(Long userId, Collection<Long> hashes);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT t.contentHash FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.contentHash IS NOT NULL")
+    Stream<Long> streamContentHashes(Long userId);
+}
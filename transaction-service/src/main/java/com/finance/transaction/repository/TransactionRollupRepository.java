@@ -0,0 +1,35 @@
+package com.finance.transaction.repository;
+
+import com.finance.transaction.dto.RollupBucket;
+import com.finance.transaction.model.RollupGranularity;
+import com.finance.transaction.model.TransactionRollup;
+import com.finance.transaction.model.TransactionRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * TransactionRollup Repository
+ *
+ * Reads primary key (user_id, granularity, bucket_date, ...) pe range scan hain
+ */
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, TransactionRollupId> {
+
+    @Query("SELECT new com.finance.transaction.dto.RollupBucket(" +
+            "r.id.bucketDate, r.id.category, CAST(r.id.type AS String), r.totalAmount, r.txnCount) " +
+            "FROM TransactionRollup r WHERE r.id.userId = :userId " +
+            "AND r.id.granularity = :granularity " +
+            "AND r.id.bucketDate BETWEEN :from AND :to " +
+            "ORDER BY r.id.bucketDate, r.id.category, r.id.type")
+    List<RollupBucket> findBuckets(
+            Long userId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.id.userId = :userId")
+    int deleteAllByUserId(Long userId);
+}
@@ -0,0 +1,81 @@
+package com.finance.transaction.repository;
+
+import com.finance.transaction.model.UserTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * UserTotals Repository
+ *
+ * Updates atomic SQL increments hain - read-modify-write nahi,
+ * isliye concurrent writes ek dusre ka delta overwrite nahi karte
+ */
+@Repository
+public interface UserTotalsRepository extends JpaRepository<UserTotals, Long> {
+
+    /**
+     * Delta apply karo
+     * @return updated rows - 0 matlab user ki row abhi bani nahi
+     */
+    @Modifying
+    @Query("UPDATE UserTotals u SET " +
+            "u.totalIncome = u.totalIncome + :incomeDelta, " +
+            "u.totalExpense = u.totalExpense + :expenseDelta, " +
+            "u.balance = u.balance + :incomeDelta - :expenseDelta, " +
+            "u.transactionCount = u.transactionCount + :countDelta " +
+            "WHERE u.userId = :userId")
+    int applyDelta(Long userId, BigDecimal incomeDelta, BigDecimal expenseDelta, Long countDelta);
+
+    /**
+     * User ki row lock karo (SELECT ... FOR UPDATE)
+     * Bulk delete ke dauraan concurrent writes is user ke liye wait karte hain,
+     * isliye aggregate aur DELETE same rows dekhte hain
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM UserTotals u WHERE u.userId = :userId")
+    Optional<UserTotals> lockByUserId(Long userId);
+
+    /**
+     * User ki row transactions se seed karo - row pehle se ho to kuch nahi
+     * (ON CONFLICT) - do concurrent seeders mein se ek hi insert karta hai
+     * @return 1 = humne seed kiya, 0 = row pehle se thi
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_totals (user_id, total_income, total_expense, balance, transaction_count) " +
+            "SELECT :userId, " +
+            "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), 0), " +
+            "COUNT(*) " +
+            "FROM transactions WHERE user_id = :userId " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertSeed(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM UserTotals u WHERE u.userId = :userId")
+    int deleteByUserIdDirect(Long userId);
+
+    /**
+     * Poori table transactions se dobara banao (rebuild ke liye)
+     */
+    @Modifying
+    @Query("INSERT INTO UserTotals (userId, totalIncome, totalExpense, balance, transactionCount) " +
+            "SELECT t.userId, " +
+            "SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), " +
+            "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), " +
+            "SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), " +
+            "COUNT(t) " +
+            "FROM Transaction t GROUP BY t.userId")
+    int insertAllFromTransactions();
+
+    @Modifying
+    @Query("DELETE FROM UserTotals")
+    int deleteAllTotals();
+}
@@ -0,0 +1,275 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.config.ImportProperties;
+import com.finance.transaction.dto.TransactionRequest;
+import com.finance.transaction.model.PaymentMethod;
+import com.finance.transaction.model.TransactionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV statement reader
+ *
+ * Pehli row header hai; columns config ke header names se match hote hain.
+ * Quoted fields (RFC 4180) support hain, quotes ke andar newline bhi.
+ */
+class CsvStatementReader implements StatementReader {
+
+    private static final int MAX_CATEGORY_LENGTH = 50;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final Reader reader;
+    private final Long userId;
+    private final char delimiter;
+    private final DateTimeFormatter dateFormat;
+    private final String defaultCategory;
+    private final Map<String, String> typeMapping;
+    private final Map<String, String> paymentMethodMapping;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final Map<String, String> columns;
+
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private int pushback = -1;
+
+    CsvStatementReader(Reader reader, Long userId, ImportProperties properties) throws IOException {
+        this.reader = reader;
+        this.userId = userId;
+        this.delimiter = properties.getCsv().getDelimiter();
+        this.dateFormat = DateTimeFormatter.ofPattern(properties.getCsv().getDateFormat());
+        this.defaultCategory = properties.getDefaultCategory();
+        this.columns = properties.getCsv().getColumns();
+        this.typeMapping = upperCaseKeys(properties.getCsv().getTypeMapping());
+        this.paymentMethodMapping = upperCaseKeys(properties.getCsv().getPaymentMethodMapping());
+        readHeader();
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        List<String> record;
+        long recordLine;
+        do {
+            recordLine = line;
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        List<String> errors = new ArrayList<>();
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(userId);
+
+        BigDecimal amount = parseAmount(value(record, "amount"), errors);
+        LocalDate date = parseDate(value(record, "date"), errors);
+        String type = resolveType(value(record, "type"), amount, errors);
+
+        String category = value(record, "category");
+        if (category == null || category.isBlank()) {
+            category = defaultCategory;
+        } else if (category.length() > MAX_CATEGORY_LENGTH) {
+            errors.add("Category longer than " + MAX_CATEGORY_LENGTH + " characters");
+        }
+
+        if (!errors.isEmpty()) {
+            return StatementRow.failed(recordLine, errors);
+        }
+        request.setAmount(amount.abs());
+        request.setType(type);
+        request.setCategory(category.trim());
+        request.setDescription(truncate(value(record, "description")));
+        request.setTransactionDate(date);
+        request.setPaymentMethod(resolvePaymentMethod(value(record, "payment-method")));
+        return StatementRow.parsed(recordLine, request);
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> headerIndex = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = i == 0 ? header.get(i).replace("\uFEFF", "") : header.get(i);
+            headerIndex.put(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+        columns.forEach((fieldName, headerName) -> {
+            Integer index = headerIndex.get(headerName.trim().toLowerCase(Locale.ROOT));
+            if (index != null) {
+                columnIndex.put(fieldName, index);
+            }
+        });
+        for (String required : List.of("date", "amount")) {
+            if (!columnIndex.containsKey(required)) {
+                throw new IllegalArgumentException(
+                        "CSV header is missing column '" + columns.get(required) + "'");
+            }
+        }
+    }
+
+    /**
+     * Ek CSV record - null jab EOF. Quoted field ke andar ka newline record khatam nahi karta.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushback = next;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                line++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        record.add(field.toString());
+        return record;
+    }
+
+    private int read() throws IOException {
+        if (pushback != -1) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private String value(List<String> record, String fieldName) {
+        Integer index = columnIndex.get(fieldName);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private BigDecimal parseAmount(String value, List<String> errors) {
+        if (value == null) {
+            errors.add("Amount is required");
+            return null;
+        }
+        try {
+            BigDecimal amount = new BigDecimal(StatementRow.normalizeAmount(value));
+            if (amount.signum() == 0) {
+                errors.add("Amount must be greater than 0");
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            errors.add("Invalid amount: " + value);
+            return null;
+        }
+    }
+
+    private LocalDate parseDate(String value, List<String> errors) {
+        if (value == null) {
+            errors.add("Transaction date is required");
+            return null;
+        }
+        try {
+            return LocalDate.parse(value, dateFormat);
+        } catch (DateTimeParseException e) {
+            errors.add("Invalid date: " + value);
+            return null;
+        }
+    }
+
+    /**
+     * Type column mapping > seedha enum value > amount ka sign
+     */
+    private String resolveType(String value, BigDecimal amount, List<String> errors) {
+        if (value != null) {
+            String key = value.toUpperCase(Locale.ROOT);
+            String mapped = typeMapping.get(key);
+            if (mapped != null) {
+                return mapped.toUpperCase(Locale.ROOT);
+            }
+            for (TransactionType type : TransactionType.values()) {
+                if (type.name().equals(key)) {
+                    return type.name();
+                }
+            }
+            errors.add("Invalid type: " + value);
+            return null;
+        }
+        if (amount == null) {
+            return null;
+        }
+        return amount.signum() < 0 ? TransactionType.EXPENSE.name() : TransactionType.INCOME.name();
+    }
+
+    /**
+     * Anjaan payment values OTHER ban jaati hain - bank statements mein bahut variety hoti hai
+     */
+    private String resolvePaymentMethod(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.toUpperCase(Locale.ROOT);
+        String mapped = paymentMethodMapping.get(key);
+        if (mapped != null) {
+            return mapped.toUpperCase(Locale.ROOT);
+        }
+        for (PaymentMethod method : PaymentMethod.values()) {
+            if (method.name().equals(key)) {
+                return method.name();
+            }
+        }
+        return PaymentMethod.OTHER.name();
+    }
+
+    private String truncate(String description) {
+        if (description == null || description.length() <= MAX_DESCRIPTION_LENGTH) {
+            return description;
+        }
+        return description.substring(0, MAX_DESCRIPTION_LENGTH);
+    }
+
+    static Map<String, String> upperCaseKeys(Map<String, String> mapping) {
+        Map<String, String> result = new HashMap<>();
+        mapping.forEach((key, value) -> result.put(key.toUpperCase(Locale.ROOT), value));
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Near-duplicate detection (batch / import paths)
+ *
+ * Har user ke content hashes ka Bloom filter memory mein rehta hai.
+ * Naye rows ke liye filter "pakka nahi hai" bolta hai aur DB touch nahi hota;
+ * sirf filter positives ek IN query se confirm hote hain. Isliye same statement
+ * dobara import karna sasta hai aur fresh import pe bhi overhead ~fpp hai.
+ *
+ * Best effort hai: filters expire hote rehte hain (doosre instances ke inserts
+ * TTL ke baad dikhte hain), deletes filter se nahi hatte (sirf false positive, DB confirm karta hai).
+ *
+ * Filter load (DB stream) cache ke compute lambda ke bahar, caller ke thread/transaction mein
+ * chalta hai - map mein sirf future rakha jaata hai, same user ke baaki callers us pe wait karte hain.
+ */
+@Slf4j
+@Service
+public class DuplicateDetector {
+
+    private static final long MIN_CAPACITY = 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final AsyncCache<Long, BloomFilter> filters;
+    private final double falsePositiveRate;
+
+    public DuplicateDetector(TransactionRepository transactionRepository,
+                             @Value("${transaction.dedupe.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${transaction.dedupe.filter-ttl:10m}") Duration filterTtl,
+                             @Value("${transaction.dedupe.filter-max-bytes:67108864}") long filterMaxBytes) {
+        this.transactionRepository = transactionRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filters = Caffeine.newBuilder()
+                .maximumWeight(filterMaxBytes)
+                .weigher((Long userId, BloomFilter filter) -> filter.sizeInBytes())
+                .expireAfterWrite(filterTtl)
+                .buildAsync();
+    }
+
+    /**
+     * Diye gaye hashes mein se jo user ke paas pehle se stored hain
+     * Caller ki DB transaction ke andar call karo (filter load stream karta hai)
+     */
+    public Set<Long> findExisting(Long userId, Collection<Long> hashes) {
+        BloomFilter filter = filter(userId);
+        List<Long> candidates = hashes.stream()
+                .filter(filter::mightContain)
+                .distinct()
+                .toList();
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> existing = new HashSet<>(
+                transactionRepository.findExistingContentHashes(userId, candidates));
+        log.debug("Dedupe user {}: {} hashes, {} filter hits, {} confirmed",
+                userId, hashes.size(), candidates.size(), existing.size());
+        return existing;
+    }
+
+    /**
+     * Naya row save hua - loaded filter mein bhi daal do
+     */
+    public void record(Long userId, Long contentHash) {
+        if (contentHash == null) {
+            return;
+        }
+        CompletableFuture<BloomFilter> loaded = filters.getIfPresent(userId);
+        if (loaded == null || !loaded.isDone() || loaded.isCompletedExceptionally()) {
+            return;
+        }
+        BloomFilter filter = loaded.join();
+        filter.put(contentHash);
+        if (filter.isSaturated()) {
+            // Agli baar bade size ke saath dobara load hoga
+            filters.synchronous().invalidate(userId);
+        }
+    }
+
+    /**
+     * Jo pehle future daalta hai wahi load karta hai; baaki uska result join karte hain.
+     * Load fail ho to future hata ke agla caller khud load karta hai
+     */
+    private BloomFilter filter(Long userId) {
+        while (true) {
+            CompletableFuture<BloomFilter> mine = new CompletableFuture<>();
+            CompletableFuture<BloomFilter> current = filters.asMap().putIfAbsent(userId, mine);
+            if (current == null) {
+                try {
+                    BloomFilter filter = load(userId);
+                    mine.complete(filter);
+                    return filter;
+                } catch (RuntimeException e) {
+                    filters.asMap().remove(userId, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            try {
+                return current.join();
+            } catch (CompletionException | CancellationException e) {
+                filters.asMap().remove(userId, current);
+            }
+        }
+    }
+
+    private BloomFilter load(Long userId) {
+        long count = transactionRepository.countByUserId(userId);
+        BloomFilter filter = BloomFilter.create(Math.max(MIN_CAPACITY, count * 2), falsePositiveRate);
+        try (Stream<Long> hashes = transactionRepository.streamContentHashes(userId)) {
+            hashes.forEach(filter::put);
+        }
+        log.debug("Dedupe filter loaded for user {}: {} rows, {} bytes", userId, count, filter.sizeInBytes());
+        return filter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.finance.transaction.service;
+
+/**
+ * Same Idempotency-Key pehle alag request body ke saath use ho chuki hai - controller 409 deta hai
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
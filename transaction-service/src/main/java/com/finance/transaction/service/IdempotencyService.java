@@ -0,0 +1,116 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.config.CacheConfig;
+import com.finance.transaction.dto.TransactionRequest;
+import com.finance.transaction.dto.TransactionResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Idempotency-Key support for POST /api/transactions
+ *
+ * Pehli request ka response key ke against store hota hai (bounded, TTL ke saath).
+ * Retry pe wahi response wapas - DB dobara touch nahi hota.
+ * Same key pe concurrent requests ek hi baar execute hoti hain: pehli request putIfAbsent se
+ * future daalti hai aur DB write cache lambda ke bahar karti hai, baaki usi future pe wait karti hain.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final TransactionService transactionService;
+    private final Cache cache;
+
+    public IdempotencyService(TransactionService transactionService, CacheManager cacheManager) {
+        this.transactionService = transactionService;
+        this.cache = cacheManager.getCache(CacheConfig.IDEMPOTENCY_CACHE);
+    }
+
+    /**
+     * Key user ke scope mein hai - alag users same key bhej sakte hain
+     * Same key + alag request body = IdempotencyConflictException
+     */
+    @SuppressWarnings("unchecked")
+    public Result createTransaction(String idempotencyKey, TransactionRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = request.getUserId() + ":" + idempotencyKey;
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            Cache.ValueWrapper existing = cache.putIfAbsent(key, mine);
+            if (existing == null) {
+                return new Result(execute(key, request, mine).getResponse(), false);
+            }
+
+            StoredResponse stored;
+            try {
+                stored = ((CompletableFuture<StoredResponse>) existing.get()).join();
+            } catch (CompletionException | CancellationException e) {
+                // Pehli request fail hui - future hat chuka hai, yeh request khud try karegi
+                continue;
+            }
+            if (!sameRequest(stored.getRequest(), request)) {
+                throw new IdempotencyConflictException("Idempotency-Key was already used with a different request");
+            }
+            log.debug("Idempotent replay for user {} key {}", request.getUserId(), idempotencyKey);
+            return new Result(stored.getResponse(), true);
+        }
+    }
+
+    /**
+     * Fail hone pe kuch store nahi hota - client (ya wait kar rahi request) retry kar sakti hai
+     */
+    private StoredResponse execute(String key, TransactionRequest request,
+                                   CompletableFuture<StoredResponse> pending) {
+        try {
+            StoredResponse stored = new StoredResponse(request, transactionService.createTransaction(request));
+            pending.complete(stored);
+            return stored;
+        } catch (RuntimeException e) {
+            cache.evict(key);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Lombok equals BigDecimal scale dekhta hai (100 != 100.00) - amount compareTo se
+     */
+    private static boolean sameRequest(TransactionRequest stored, TransactionRequest request) {
+        return Objects.equals(stored.getUserId(), request.getUserId())
+                && stored.getAmount().compareTo(request.getAmount()) == 0
+                && Objects.equals(stored.getType(), request.getType())
+                && Objects.equals(stored.getCategory(), request.getCategory())
+                && Objects.equals(stored.getDescription(), request.getDescription())
+                && Objects.equals(stored.getTransactionDate(), request.getTransactionDate())
+                && Objects.equals(stored.getPaymentMethod(), request.getPaymentMethod());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final TransactionResponse response;
+        private final boolean replayed;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class StoredResponse {
+        private final TransactionRequest request;
+        private final TransactionResponse response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.TransactionChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM broker - default sink (local dev / tests)
+ *
+ * Subscribers ko events synchronously milte hain; subscriber ka exception relay tak
+ * jaata hai aur batch dobara aata hai. Aakhri retained events memory mein rehte hain
+ * taaki tests/debugging unhe seq ke baad se padh sakein.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "transaction.outbox.sink", havingValue = "local", matchIfMissing = true)
+public class LocalEventBroker implements TransactionEventSink {
+
+    private final List<Consumer<TransactionChangeEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<TransactionChangeEvent> retained = new ArrayDeque<>();
+    private final int retainedEvents;
+
+    public LocalEventBroker(@Value("${transaction.outbox.local.retained-events:10000}") int retainedEvents) {
+        this.retainedEvents = retainedEvents;
+    }
+
+    @Override
+    public void publish(List<TransactionChangeEvent> events) {
+        synchronized (retained) {
+            for (TransactionChangeEvent event : events) {
+                retained.addLast(event);
+                if (retained.size() > retainedEvents) {
+                    retained.removeFirst();
+                }
+            }
+        }
+        for (TransactionChangeEvent event : events) {
+            for (Consumer<TransactionChangeEvent> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+        }
+        log.debug("Local broker published {} events", events.size());
+    }
+
+    public void subscribe(Consumer<TransactionChangeEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<TransactionChangeEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * afterSeq ke baad ke retained events (seq order mein)
+     */
+    public List<TransactionChangeEvent> recent(long afterSeq, int limit) {
+        synchronized (retained) {
+            return retained.stream()
+                    .filter(event -> event.getSeq() > afterSeq)
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
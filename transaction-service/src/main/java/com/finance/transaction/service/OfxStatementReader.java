@@ -0,0 +1,199 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.config.ImportProperties;
+import com.finance.transaction.dto.TransactionRequest;
+import com.finance.transaction.model.PaymentMethod;
+import com.finance.transaction.model.TransactionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * OFX statement reader
+ *
+ * OFX 1.x SGML hai (leaf tags close nahi hote), 2.x XML - dono ke liye ek
+ * simple tag tokenizer kaafi hai. Sirf <STMTTRN> blocks padhe jaate hain,
+ * ek waqt mein ek hi transaction ke tags memory mein rehte hain.
+ */
+class OfxStatementReader implements StatementReader {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final Reader reader;
+    private final Long userId;
+    private final String defaultCategory;
+    private final Map<String, String> paymentMethodMapping;
+
+    private final StringBuilder token = new StringBuilder();
+    private long line = 1;
+    private int pushback = -1;
+
+    OfxStatementReader(Reader reader, Long userId, ImportProperties properties) {
+        this.reader = reader;
+        this.userId = userId;
+        this.defaultCategory = properties.getDefaultCategory();
+        this.paymentMethodMapping =
+                CsvStatementReader.upperCaseKeys(properties.getOfx().getPaymentMethodMapping());
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                return readTransaction(line);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * </STMTTRN> tak saare leaf tags collect karo
+     */
+    private StatementRow readTransaction(long startLine) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        String tag;
+        while ((tag = nextTag()) != null && !tag.equals("/STMTTRN")) {
+            if (!tag.startsWith("/")) {
+                String value = readValue();
+                if (!value.isEmpty()) {
+                    fields.put(tag, value);
+                }
+            }
+        }
+        return toRow(startLine, fields);
+    }
+
+    private StatementRow toRow(long startLine, Map<String, String> fields) {
+        List<String> errors = new ArrayList<>();
+
+        BigDecimal amount = null;
+        String rawAmount = fields.get("TRNAMT");
+        if (rawAmount == null) {
+            errors.add("Amount is required");
+        } else {
+            try {
+                amount = new BigDecimal(StatementRow.normalizeAmount(rawAmount));
+                if (amount.signum() == 0) {
+                    errors.add("Amount must be greater than 0");
+                }
+            } catch (NumberFormatException e) {
+                errors.add("Invalid amount: " + rawAmount);
+            }
+        }
+
+        LocalDate date = null;
+        String rawDate = fields.get("DTPOSTED");
+        if (rawDate == null || rawDate.length() < 8) {
+            errors.add("Invalid date: " + rawDate);
+        } else {
+            try {
+                // YYYYMMDD[HHMMSS[.XXX][gmt offset]] - sirf date part chahiye
+                date = LocalDate.parse(rawDate.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+            } catch (DateTimeParseException e) {
+                errors.add("Invalid date: " + rawDate);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return StatementRow.failed(startLine, errors);
+        }
+
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(userId);
+        request.setAmount(amount.abs());
+        request.setType(amount.signum() < 0 ? TransactionType.EXPENSE.name() : TransactionType.INCOME.name());
+        request.setCategory(defaultCategory);
+        request.setDescription(description(fields.get("NAME"), fields.get("MEMO")));
+        request.setTransactionDate(date);
+        request.setPaymentMethod(resolvePaymentMethod(fields.get("TRNTYPE")));
+        return StatementRow.parsed(startLine, request);
+    }
+
+    private String description(String name, String memo) {
+        String description;
+        if (name == null) {
+            description = memo;
+        } else if (memo == null || memo.equals(name)) {
+            description = name;
+        } else {
+            description = name + " - " + memo;
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            return description.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+        return description;
+    }
+
+    private String resolvePaymentMethod(String trnType) {
+        if (trnType == null) {
+            return null;
+        }
+        String mapped = paymentMethodMapping.get(trnType.toUpperCase(Locale.ROOT));
+        return mapped != null ? mapped.toUpperCase(Locale.ROOT) : PaymentMethod.OTHER.name();
+    }
+
+    /**
+     * Agle '<' tak skip, phir tag name - null jab EOF
+     */
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // header lines aur tag values skip
+        }
+        if (c == -1) {
+            return null;
+        }
+        token.setLength(0);
+        while ((c = read()) != -1 && c != '>') {
+            token.append((char) c);
+        }
+        return token.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Tag ke baad ki value - agle '<' se pehle tak (SGML mein closing tag nahi hota)
+     */
+    private String readValue() throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            token.append((char) c);
+        }
+        if (c == '<') {
+            pushback = c;
+        }
+        return unescape(token.toString().trim());
+    }
+
+    private String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">")
+                .replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -1) {
+            c = pushback;
+            pushback = -1;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,124 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.TransactionChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outbox Relay
+ *
+ * transaction_outbox ke unpublished rows id order mein claim karta hai, unhe seq deta hai,
+ * sink pe batch publish karta hai aur phir commit. Publish fail = rollback, rows agli baar
+ * dobara (at-least-once). Commit publish ke baad hai, isliye crash pe bhi duplicate hi aate hain,
+ * event kabhi khota nahi.
+ *
+ * Advisory lock se ek waqt pe ek hi instance relay karta hai - seq order = publish order.
+ * Published rows retention tak rehte hain (change feed consumers ke liye), phir cleanup.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x7478_6f75_7462_6f78L;
+
+    private static final String CLAIM_SQL =
+            "WITH batch AS (" +
+            "  SELECT id, nextval('transaction_outbox_seq') AS seq FROM (" +
+            "    SELECT id FROM transaction_outbox WHERE seq IS NULL ORDER BY id LIMIT ?) pending) " +
+            "UPDATE transaction_outbox o SET seq = batch.seq, published_at = now() " +
+            "FROM batch WHERE o.id = batch.id " +
+            "RETURNING o.id, o.seq, o.user_id, o.transaction_id, o.change_type, o.type, " +
+            "o.category_id, o.transaction_date, o.amount_delta, o.count_delta, o.created_at";
+
+    /**
+     * Aakhri published row kabhi nahi hatti - feed ka latestSeq bana rehta hai, aur peeche reh gaya
+     * consumer gap pehchaan leta hai (khali feed se ye pata nahi chalta)
+     */
+    private static final String CLEANUP_SQL =
+            "DELETE FROM transaction_outbox WHERE published_at < now() - make_interval(secs => ?) " +
+            "AND seq < (SELECT MAX(seq) FROM transaction_outbox)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionEventSink sink;
+    private final TransactionOutbox outbox;
+
+    @Value("${transaction.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transaction.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${transaction.outbox.retention:24h}")
+    private Duration retention;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       TransactionEventSink sink,
+                       TransactionOutbox outbox) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Backlog ho to ek run mein maxBatchesPerRun batches tak
+     */
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            int batches = 0;
+            int published;
+            do {
+                published = publishBatch();
+                batches++;
+            } while (published == batchSize && batches < maxBatchesPerRun);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ek batch claim + publish ek DB transaction mein
+     * @return published events (lock doosre instance ke paas ho to 0)
+     */
+    public int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                return 0;
+            }
+            List<TransactionChangeEvent> events = jdbcTemplate.query(CLAIM_SQL,
+                    (rs, rowNum) -> outbox.toEvent(rs), batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            events.sort(Comparator.comparing(TransactionChangeEvent::getSeq));
+            sink.publish(events);
+            return events.size();
+        });
+        if (published != null && published > 0) {
+            log.debug("Outbox relay published {} events", published);
+        }
+        return published != null ? published : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        int deleted = jdbcTemplate.update(CLEANUP_SQL, (double) retention.toSeconds());
+        if (deleted > 0) {
+            log.info("Outbox cleanup removed {} published events", deleted);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.finance.transaction.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition Maintenance Service
+ *
+ * transactions table monthly partitioned hai (V6 migration).
+ * Startup pe aur roz cron pe:
+ *  - aage ke monthsAhead mahino ke partitions pehle se bana deta hai
+ *  - transactions_default mein aayi rows (purane statements import etc.) ke mahino ke
+ *    partitions bana ke rows wahan move karta hai, taaki pruning unpe bhi kaam kare
+ *  - retentionMonths se purane partitions detach + drop (0 = kabhi drop nahi)
+ *
+ * Drop se pehle us partition ka aggregate user_totals se ghata diya jaata hai,
+ * us range ke rollup buckets hata diye jaate hain aur per user/din/category DELETED outbox
+ * events likhe jaate hain (purge path jaisa) - read models aur budget-service ka spend ledger
+ * raw data se match rehte hain.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'transactions' ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionCacheService cacheService;
+    private final TransactionAnalyticsService analyticsService;
+
+    @Value("${transaction.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${transaction.partition.retention-months:0}")
+    private int retentionMonths;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       TransactionCacheService cacheService,
+                                       TransactionAnalyticsService analyticsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheService = cacheService;
+        this.analyticsService = analyticsService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transaction.partition.cron:0 0 3 * * *}")
+    public void maintain() {
+        try {
+            ensurePartitions();
+            partitionDefaultRows();
+            dropExpiredPartitions();
+        } catch (RuntimeException e) {
+            log.error("Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current + aage ke mahino ke partitions - naye banaye gaye mahine return
+     */
+    public List<YearMonth> ensurePartitions() {
+        List<YearMonth> created = new ArrayList<>();
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            Boolean isNew = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT ensure_transactions_partition(?)", Boolean.class, month.atDay(1)));
+            if (Boolean.TRUE.equals(isNew)) {
+                created.add(month);
+                log.info("Created transactions partition for {}", month);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Default partition mein jin mahino ki rows hain unke partitions
+     * (retention se purane mahine bhi - agla step unhe normal tarah drop kar deta hai)
+     */
+    public List<YearMonth> partitionDefaultRows() {
+        List<LocalDate> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', transaction_date) AS DATE) " +
+                "FROM transactions_default", LocalDate.class);
+
+        List<YearMonth> created = new ArrayList<>();
+        for (LocalDate monthStart : months) {
+            YearMonth month = YearMonth.from(monthStart);
+            Boolean isNew = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT ensure_transactions_partition(?)", Boolean.class, monthStart));
+            if (Boolean.TRUE.equals(isNew)) {
+                created.add(month);
+                log.info("Moved default partition rows for {} into their own partition", month);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * retentionMonths se purane partitions hatao - har partition apni DB transaction mein
+     */
+    public List<YearMonth> dropExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        List<YearMonth> dropped = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_MONTH);
+            if (month.isBefore(cutoff)) {
+                transactionTemplate.executeWithoutResult(status -> dropPartition(partition, month));
+                dropped.add(month);
+            }
+        }
+        if (!dropped.isEmpty()) {
+            cacheService.evictAll();
+            analyticsService.evictAll();
+        }
+        return dropped;
+    }
+
+    /**
+     * Detach (parent pe lock commit tak) -> totals se minus -> outbox events -> rollups delete -> drop
+     * Events totals update ke baad - user_totals row locks ki wajah se har user ke events commit order mein
+     */
+    private void dropPartition(String partition, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+
+        int users = jdbcTemplate.update(
+                "UPDATE user_totals u SET " +
+                "total_income = u.total_income - s.income, " +
+                "total_expense = u.total_expense - s.expense, " +
+                "balance = u.balance - (s.income - s.expense), " +
+                "transaction_count = u.transaction_count - s.cnt " +
+                "FROM (SELECT user_id, " +
+                "SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END) AS income, " +
+                "SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END) AS expense, " +
+                "COUNT(*) AS cnt FROM " + partition + " GROUP BY user_id) s " +
+                "WHERE u.user_id = s.user_id");
+
+        int events = jdbcTemplate.update(
+                "INSERT INTO transaction_outbox " +
+                "(user_id, change_type, type, category_id, transaction_date, amount_delta, count_delta) " +
+                "SELECT user_id, 'DELETED', type, category_id, transaction_date, -SUM(amount), -COUNT(*) " +
+                "FROM " + partition + " " +
+                "GROUP BY user_id, transaction_date, category_id, type " +
+                "ORDER BY user_id, transaction_date, category_id, type");
+
+        int buckets = jdbcTemplate.update(
+                "DELETE FROM transaction_rollup WHERE bucket_date >= ? AND bucket_date < ?", from, to);
+
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.info("Dropped transactions partition {} ({} users adjusted, {} delete events, {} rollup buckets removed)",
+                partition, users, events, buckets);
+    }
+}
@@ -0,0 +1,224 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.MonthlySummary;
+import com.finance.transaction.dto.RollupBucket;
+import com.finance.transaction.model.RollupGranularity;
+import com.finance.transaction.model.Transaction;
+import com.finance.transaction.model.TransactionType;
+import com.finance.transaction.repository.TransactionRollupRepository;
+import com.finance.common.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rollup Service
+ *
+ * transaction_rollup ko har write pe DAY aur MONTH dono buckets mein update karta hai.
+ * Ek call ke saare deltas pehle merge hote hain, phir sorted order mein ek JDBC batch
+ * upsert - sorted order se concurrent writers deadlock nahi karte. Jin buckets ka count
+ * ghata sirf wahi (PK lookup) khali hone pe hataye jaate hain - user ke baaki buckets scan nahi hote.
+ */
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO transaction_rollup " +
+            "(user_id, granularity, bucket_date, category, type, total_amount, txn_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, granularity, bucket_date, category, type) DO UPDATE SET " +
+            "total_amount = transaction_rollup.total_amount + EXCLUDED.total_amount, " +
+            "txn_count = transaction_rollup.txn_count + EXCLUDED.txn_count";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM transaction_rollup " +
+            "WHERE user_id = ? AND granularity = ? AND bucket_date = ? AND category = ? AND type = ? " +
+            "AND txn_count <= 0";
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator
+            .comparing(BucketKey::getUserId)
+            .thenComparing(BucketKey::getGranularity)
+            .thenComparing(BucketKey::getBucketDate)
+            .thenComparing(BucketKey::getCategory)
+            .thenComparing(BucketKey::getType);
+
+    private final TransactionRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Range analytics - cost buckets ki ginti ke hisaab se
+     */
+    @Transactional(readOnly = true)
+    public List<RollupBucket> getBuckets(Long userId, RollupGranularity granularity,
+                                         LocalDate from, LocalDate to) {
+        LocalDate start = granularity == RollupGranularity.MONTH ? from.withDayOfMonth(1) : from;
+        return rollupRepository.findBuckets(userId, granularity, start, to);
+    }
+
+    /**
+     * Monthly report - mahine ka MONTH bucket (category x type pehle se grouped) ek PK range scan
+     * mein, history kitni bhi ho. Totals paise mein jodte hain.
+     */
+    @Transactional(readOnly = true)
+    public MonthlySummary getMonthlySummary(Long userId, YearMonth month) {
+        LocalDate bucket = month.atDay(1);
+        long income = 0;
+        long expense = 0;
+        long count = 0;
+        Map<String, Long> byCategory = new TreeMap<>();
+        for (RollupBucket row : rollupRepository.findBuckets(userId, RollupGranularity.MONTH, bucket, bucket)) {
+            long amount = Money.toMinor(row.getTotalAmount());
+            count += row.getCount();
+            if (TransactionType.INCOME.name().equals(row.getType())) {
+                income = Math.addExact(income, amount);
+            } else {
+                expense = Math.addExact(expense, amount);
+                byCategory.merge(row.getCategory(), amount, Math::addExact);
+            }
+        }
+        Map<String, BigDecimal> categoryWiseExpense = new LinkedHashMap<>();
+        byCategory.forEach((category, amount) -> categoryWiseExpense.put(category, Money.toBigDecimal(amount)));
+        return new MonthlySummary(month.toString(), Money.toBigDecimal(income), Money.toBigDecimal(expense),
+                Money.toBigDecimal(Math.subtractExact(income, expense)), count, categoryWiseExpense);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        recordCreated(List.of(transaction));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Transaction transaction : transactions) {
+            add(deltas, transaction, 1);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        add(deltas, transaction, -1);
+        apply(deltas);
+    }
+
+    /**
+     * previous = update se pehle ki copy, updated = nayi values
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Transaction previous, Transaction updated) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        add(deltas, previous, -1);
+        add(deltas, updated, 1);
+        apply(deltas);
+    }
+
+    /**
+     * Bulk delete - hatayi gayi rows ke daily buckets se DAY aur MONTH dono decrement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, List<RollupBucket> removedDaily) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (RollupBucket bucket : removedDaily) {
+            TransactionType type = TransactionType.valueOf(bucket.getType());
+            long amount = -Money.toMinor(bucket.getTotalAmount());
+            long count = -bucket.getCount();
+            merge(deltas, new BucketKey(userId, RollupGranularity.DAY,
+                    bucket.getBucketDate(), bucket.getCategory(), type), amount, count);
+            merge(deltas, new BucketKey(userId, RollupGranularity.MONTH,
+                    bucket.getBucketDate().withDayOfMonth(1), bucket.getCategory(), type), amount, count);
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clearUser(Long userId) {
+        rollupRepository.deleteAllByUserId(userId);
+    }
+
+    private void add(Map<BucketKey, Delta> deltas, Transaction transaction, int sign) {
+        long amount = sign < 0
+                ? -Money.toMinor(transaction.getAmount())
+                : Money.toMinor(transaction.getAmount());
+        LocalDate date = transaction.getTransactionDate();
+        merge(deltas, new BucketKey(transaction.getUserId(), RollupGranularity.DAY,
+                date, transaction.getCategory(), transaction.getType()), amount, sign);
+        merge(deltas, new BucketKey(transaction.getUserId(), RollupGranularity.MONTH,
+                date.withDayOfMonth(1), transaction.getCategory(), transaction.getType()), amount, sign);
+    }
+
+    private void merge(Map<BucketKey, Delta> deltas, BucketKey key, long amount, long count) {
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.amount = Math.addExact(delta.amount, amount);
+        delta.count += count;
+    }
+
+    /**
+     * Upsert, phir decrement wale buckets mein se jo khali ho gaye wo delete (usi sorted order mein)
+     */
+    private void apply(Map<BucketKey, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        List<Object[]> decremented = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (delta.count < 0) {
+                decremented.add(new Object[]{
+                        key.getUserId(),
+                        key.getGranularity().name(),
+                        Date.valueOf(key.getBucketDate()),
+                        key.getCategory(),
+                        key.getType().name()
+                });
+            }
+            if (delta.count != 0 || delta.amount != 0) {
+                rows.add(new Object[]{
+                        key.getUserId(),
+                        key.getGranularity().name(),
+                        Date.valueOf(key.getBucketDate()),
+                        key.getCategory(),
+                        key.getType().name(),
+                        Money.toBigDecimal(delta.amount),
+                        delta.count
+                });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+        if (!decremented.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, decremented);
+        }
+    }
+
+    @Value
+    private static class BucketKey {
+        Long userId;
+        RollupGranularity granularity;
+        LocalDate bucketDate;
+        String category;
+        TransactionType type;
+    }
+
+    /**
+     * amount paise (minor units) mein - merge loop mein BigDecimal allocation nahi
+     */
+    private static class Delta {
+        private long amount;
+        private long count;
+    }
+}
@@ -0,0 +1,219 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.config.ImportProperties;
+import com.finance.transaction.dto.BatchItemResult;
+import com.finance.transaction.dto.BatchResult;
+import com.finance.transaction.dto.ImportJob;
+import com.finance.transaction.dto.ImportLineError;
+import com.finance.transaction.dto.TransactionRequest;
+import com.finance.transaction.model.StatementFormat;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Statement Import Service
+ *
+ * Bank statements (CSV / OFX) background mein import hote hain.
+ * File row-by-row parse hoti hai aur chunkSize ki batches mein persist -
+ * agli batch tabhi padhi jaati hai jab pichli commit ho gayi (natural backpressure),
+ * isliye memory file size se independent rehti hai.
+ *
+ * Already imported rows (content hash match) duplicates mein count hote hain, errors mein nahi -
+ * same statement dobara upload karna safe aur sasta hai.
+ */
+@Slf4j
+@Service
+public class StatementImportService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionService transactionService;
+    private final ImportProperties properties;
+    private final ExecutorService executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public StatementImportService(TransactionService transactionService, ImportProperties properties) {
+        this.transactionService = transactionService;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getWorkers());
+    }
+
+    /**
+     * Upload ko temp file mein move karke job start - request thread turant free
+     * (multipart pehle se disk pe hota hai, transferTo usually sirf rename hai)
+     */
+    public ImportJob startImport(Long userId, StatementFormat format, MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        evictFinishedJobs();
+
+        Path tempFile = Files.createTempFile("statement-import-", "." + format.name().toLowerCase());
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, format.name(),
+                file.getOriginalFilename(), "RUNNING", Files.size(tempFile), 0L, 0L, 0L, 0L, 0L,
+                new CopyOnWriteArrayList<>(), LocalDateTime.now(), null, null);
+        jobs.put(job.getJobId(), job);
+        executor.submit(() -> run(job, format, tempFile));
+        return job;
+    }
+
+    public Optional<ImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ImportJob job, StatementFormat format, Path file) {
+        try (InputStream in = new ProgressInputStream(Files.newInputStream(file), job);
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            StatementReader statement = format == StatementFormat.CSV
+                    ? new CsvStatementReader(reader, job.getUserId(), properties)
+                    : new OfxStatementReader(reader, job.getUserId(), properties);
+
+            List<TransactionRequest> chunk = new ArrayList<>(properties.getChunkSize());
+            List<Long> chunkLines = new ArrayList<>(properties.getChunkSize());
+            StatementRow row;
+            while ((row = statement.next()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                job.setRecordsRead(job.getRecordsRead() + 1);
+                if (!row.isValid()) {
+                    reject(job, row.getLine(), row.getErrors());
+                    continue;
+                }
+                chunk.add(row.getRequest());
+                chunkLines.add(row.getLine());
+                if (chunk.size() == properties.getChunkSize()) {
+                    persistChunk(job, chunk, chunkLines);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                persistChunk(job, chunk, chunkLines);
+            }
+
+            job.setStatus("COMPLETED");
+            log.info("Import {} finished: {} records, {} accepted, {} rejected for user {}",
+                    job.getJobId(), job.getRecordsRead(), job.getAccepted(),
+                    job.getRejected(), job.getUserId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.setStatus("FAILED");
+            job.setError("Interrupted");
+        } catch (Exception e) {
+            log.error("Import {} failed: {}", job.getJobId(), e.getMessage());
+            job.setStatus("FAILED");
+            job.setError(e.getMessage());
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Har chunk apni DB transaction (createTransactions) - chunk fail ho to
+     * sirf uski lines reject, import aage chalta rehta hai
+     */
+    private void persistChunk(ImportJob job, List<TransactionRequest> chunk, List<Long> chunkLines) {
+        try {
+            BatchResult result = transactionService.createTransactions(chunk, properties.isSkipDuplicates());
+            job.setAccepted(job.getAccepted() + result.getAccepted());
+            job.setDuplicates(job.getDuplicates() + result.getDuplicates());
+            for (BatchItemResult item : result.getItems()) {
+                if (!item.getSuccess() && !item.getDuplicate()) {
+                    reject(job, chunkLines.get(item.getIndex()), item.getErrors());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Import {} chunk failed: {}", job.getJobId(), e.getMessage());
+            for (Long line : chunkLines) {
+                reject(job, line, List.of("Chunk failed: " + e.getMessage()));
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void reject(ImportJob job, long line, List<String> errors) {
+        job.setRejected(job.getRejected() + 1);
+        if (job.getErrors().size() < properties.getMaxErrors()) {
+            job.getErrors().add(new ImportLineError(line, errors));
+        }
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMinutes(properties.getRetentionMinutes()));
+        jobs.values().removeIf(job -> job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Kitne bytes padhe gaye - job ke progress ke liye
+     */
+    private static class ProgressInputStream extends FilterInputStream {
+
+        private final ImportJob job;
+        private long count;
+
+        ProgressInputStream(InputStream in, ImportJob job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                job.setBytesRead(++count);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+                job.setBytesRead(count);
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.finance.transaction.service;
+
+import java.io.IOException;
+
+/**
+ * Statement file ko row-by-row padhta hai - poori file kabhi memory mein nahi aati
+ */
+interface StatementReader {
+
+    /**
+     * Agli row, ya null jab file khatam
+     */
+    StatementRow next() throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.TransactionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Statement ki ek parsed row - ya to request, ya parse errors
+ */
+@Getter
+@AllArgsConstructor
+class StatementRow {
+
+    private final long line;
+    private final TransactionRequest request;
+    private final List<String> errors;
+
+    static StatementRow parsed(long line, TransactionRequest request) {
+        return new StatementRow(line, request, null);
+    }
+
+    static StatementRow failed(long line, List<String> errors) {
+        return new StatementRow(line, null, errors);
+    }
+
+    boolean isValid() {
+        return request != null;
+    }
+
+    /**
+     * Amount text -> BigDecimal ke liye (CSV aur OFX dono readers). Comma decimal tabhi jab wo
+     * aakhri separator ho, akela ho aur uske baad theek 3 digits wala bina-dot number na ho
+     * ("1.234,56", "12,5") - warna thousands separator, hata do ("1,234.56", "1,234,567", "1,000").
+     * Spaces bhi thousands.
+     */
+    static String normalizeAmount(String raw) {
+        String value = raw.trim().replace(" ", "");
+        int comma = value.lastIndexOf(',');
+        int dot = value.lastIndexOf('.');
+        boolean decimalComma = comma > dot && comma == value.indexOf(',')
+                && (dot >= 0 || value.length() - comma - 1 != 3);
+        if (decimalComma) {
+            return value.substring(0, comma).replace(".", "") + "." + value.substring(comma + 1);
+        }
+        return value.replace(",", "");
+    }
+}
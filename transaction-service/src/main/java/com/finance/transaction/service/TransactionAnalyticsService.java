@@ -0,0 +1,182 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.AnalyticsResult;
+import com.finance.transaction.dto.TransactionFact;
+import com.finance.transaction.model.AnalyticsGroupBy;
+import com.finance.transaction.model.PaymentMethod;
+import com.finance.transaction.model.Transaction;
+import com.finance.transaction.model.TransactionType;
+import com.finance.transaction.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Transaction Analytics (in-memory columnar store)
+ *
+ * Active users ke transactions TransactionColumns mein memory mein rehte hain -
+ * slicing queries (type / category / payment method / date window) DB nahi jaati,
+ * arrays pe ek loop chalta hai. Pehli query pe lazy load (ek streaming query).
+ *
+ * Sync: TransactionService ke write paths commit ke baad rows append / replace / remove
+ * karte hain; bulk deletes user ko evict karte hain (agli query reload karti hai).
+ * Doosre instances ke writes sirf ttl ke baad dikhte hain - ttl load time se ginta hai,
+ * local sync se reset nahi hota.
+ * Memory budget (max-bytes) se bahar jaane pe kam use hone wale users evict hote hain.
+ * enabled=false: har query DB se fresh load karti hai, kuch cache nahi hota.
+ */
+@Slf4j
+@Service
+public class TransactionAnalyticsService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final Cache<Long, TransactionColumns> columns;
+
+    public TransactionAnalyticsService(TransactionRepository transactionRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${transaction.analytics.enabled:true}") boolean enabled,
+                                       @Value("${transaction.analytics.max-bytes:268435456}") long maxBytes,
+                                       @Value("${transaction.analytics.ttl:10m}") Duration ttl) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.columns = enabled ? Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, TransactionColumns user) ->
+                        (int) Math.min(Integer.MAX_VALUE, user.sizeInBytes()))
+                .expireAfter(new LoadTimeExpiry(ttl))
+                .build() : null;
+    }
+
+    /**
+     * Filter + group aggregate. null filters = sab rows
+     */
+    public AnalyticsResult analyze(Long userId, TransactionType type, String category,
+                                   PaymentMethod paymentMethod, LocalDate from, LocalDate to,
+                                   AnalyticsGroupBy groupBy) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        TransactionColumns user = columns != null ? columns.get(userId, this::load) : load(userId);
+        return user.aggregate(from, to, type, paymentMethod, category, groupBy);
+    }
+
+    /**
+     * Write paths se - rows abhi capture hoti hain, store mein commit ke baad jaati hain
+     */
+    public void recordCreated(List<Transaction> transactions) {
+        if (columns == null) {
+            return;
+        }
+        transactions.stream()
+                .collect(Collectors.groupingBy(Transaction::getUserId,
+                        Collectors.mapping(TransactionFact::of, Collectors.toList())))
+                .forEach((userId, facts) -> afterCommit(() ->
+                        columns.asMap().computeIfPresent(userId, (id, user) -> user.append(facts))));
+    }
+
+    public void recordUpdated(Transaction transaction) {
+        if (columns == null) {
+            return;
+        }
+        TransactionFact fact = TransactionFact.of(transaction);
+        afterCommit(() -> columns.asMap().computeIfPresent(transaction.getUserId(),
+                (id, user) -> user.replace(fact)));
+    }
+
+    public void recordDeleted(Transaction transaction) {
+        if (columns == null) {
+            return;
+        }
+        Long transactionId = transaction.getId();
+        afterCommit(() -> columns.asMap().computeIfPresent(transaction.getUserId(),
+                (id, user) -> user.remove(transactionId)));
+    }
+
+    /**
+     * Bulk deletes ke liye - abhi aur commit ke baad (beech mein hua load purana data padh sakta hai)
+     */
+    public void evictUser(Long userId) {
+        if (columns == null) {
+            return;
+        }
+        columns.invalidate(userId);
+        afterCommit(() -> columns.invalidate(userId));
+    }
+
+    public void evictAll() {
+        if (columns != null) {
+            columns.invalidateAll();
+        }
+    }
+
+    private TransactionColumns load(Long userId) {
+        long started = System.nanoTime();
+        TransactionColumns user = readOnlyTemplate.execute(status -> {
+            TransactionColumns.Builder builder = TransactionColumns.builder();
+            try (Stream<TransactionFact> facts = transactionRepository.streamFactsByUserId(userId)) {
+                facts.forEach(builder::add);
+            }
+            return builder.build(started);
+        });
+        log.debug("Analytics columns loaded for user {}: {} rows, {} bytes in {} ms", userId,
+                user.size(), user.sizeInBytes(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return user;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Expiry load time se - append/replace (local writes) entry ki umar nahi badhate
+     */
+    private static class LoadTimeExpiry implements Expiry<Long, TransactionColumns> {
+
+        private final long ttlNanos;
+
+        LoadTimeExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long userId, TransactionColumns user, long currentTime) {
+            return Math.max(0, ttlNanos - (currentTime - user.loadedAtNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, TransactionColumns user,
+                                      long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, TransactionColumns user,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
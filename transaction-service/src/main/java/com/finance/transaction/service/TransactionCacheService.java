@@ -0,0 +1,70 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.config.CacheConfig;
+import com.finance.transaction.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Transaction Cache Service
+ *
+ * Write ke baad sirf usi user ki entries evict hoti hain.
+ * Evict do baar hota hai - abhi, aur commit ke baad - taaki commit se pehle
+ * koi reader purana data dobara cache na kar de.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionCacheService {
+
+    private final CacheManager cacheManager;
+
+    public void evictUser(Long userId) {
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    public void evictUsers(Collection<Long> userIds) {
+        userIds.forEach(this::evictUser);
+    }
+
+    /**
+     * Bulk maintenance (partition drop) ke baad - kai users ek saath change hote hain
+     */
+    public void evictAll() {
+        for (String cacheName : new String[]{
+                CacheConfig.SUMMARY_CACHE, CacheConfig.LIST_CACHE, CacheConfig.TYPE_LIST_CACHE}) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void evictNow(Long userId) {
+        evict(CacheConfig.SUMMARY_CACHE, userId);
+        evict(CacheConfig.LIST_CACHE, userId);
+        for (TransactionType type : TransactionType.values()) {
+            evict(CacheConfig.TYPE_LIST_CACHE, userId + ":" + type.name());
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
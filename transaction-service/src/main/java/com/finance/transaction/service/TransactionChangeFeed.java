@@ -0,0 +1,92 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.ChangeFeedPage;
+import com.finance.transaction.dto.ChangeFeedSnapshot;
+import com.finance.transaction.dto.RollupBucket;
+import com.finance.transaction.dto.TransactionChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change Feed
+ *
+ * Published outbox rows seq order mein - jin services ke paas broker nahi hai woh isse poll karti hain.
+ * Relay ek waqt pe ek hi chalta hai aur seq commit ke saath dikhta hai, isliye committed seq
+ * ke beech kabhi "baad mein aane wala" chhota seq nahi hota (rollback se seq skip ho sakte hain).
+ *
+ * Retention ke baad rows cleanup ho jaati hain - peeche reh gaya consumer snapshot() se
+ * user ka state dobara le.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionChangeFeed {
+
+    private static final String PAGE_SQL =
+            "SELECT id, seq, user_id, transaction_id, change_type, type, category_id, " +
+            "transaction_date, amount_delta, count_delta, created_at " +
+            "FROM transaction_outbox WHERE seq > ? ORDER BY seq LIMIT ?";
+
+    private static final String BOUNDS_SQL =
+            "SELECT MIN(seq) AS earliest, MAX(seq) AS latest FROM transaction_outbox WHERE seq IS NOT NULL";
+
+    /**
+     * Ek hi statement = ek hi MVCC snapshot: rollup buckets aur aakhri event id same point ke hain.
+     * Ek user ke outbox ids commit order mein hain (user_totals row lock), isliye jo write
+     * snapshot mein nahi dikhi uska id lastEventId se bada hi hoga.
+     */
+    private static final String SNAPSHOT_SQL =
+            "SELECT m.last_event_id, r.bucket_date, r.category, r.type, r.total_amount, r.txn_count " +
+            "FROM (SELECT COALESCE(MAX(id), 0) AS last_event_id FROM transaction_outbox WHERE user_id = ?) m " +
+            "LEFT JOIN transaction_rollup r " +
+            "ON r.user_id = ? AND r.granularity = 'DAY' AND r.txn_count <> 0 " +
+            "ORDER BY r.bucket_date, r.category, r.type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOutbox outbox;
+
+    @Value("${transaction.outbox.feed.max-page-size:1000}")
+    private int maxPageSize;
+
+    /**
+     * after ke baad ke events - pehli call ke liye after = 0
+     */
+    public ChangeFeedPage page(long after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        List<TransactionChangeEvent> events = jdbcTemplate.query(PAGE_SQL,
+                (rs, rowNum) -> outbox.toEvent(rs), after, Math.min(limit, maxPageSize));
+        // Events ke baad bounds - beech mein cleanup chala to earliestSeq bada dikhega (resync, gap nahi chhootega)
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(BOUNDS_SQL);
+        return new ChangeFeedPage(events,
+                bounds.get("earliest") != null ? ((Number) bounds.get("earliest")).longValue() : null,
+                bounds.get("latest") != null ? ((Number) bounds.get("latest")).longValue() : null);
+    }
+
+    public ChangeFeedSnapshot snapshot(Long userId) {
+        List<RollupBucket> daily = new ArrayList<>();
+        long[] lastEventId = {0};
+        jdbcTemplate.query(SNAPSHOT_SQL, rs -> {
+            lastEventId[0] = rs.getLong("last_event_id");
+            if (rs.getObject("bucket_date") != null) {
+                daily.add(new RollupBucket(
+                        rs.getObject("bucket_date", LocalDate.class),
+                        rs.getString("category"),
+                        rs.getString("type"),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getLong("txn_count")));
+            }
+        }, userId, userId);
+        return new ChangeFeedSnapshot(userId, lastEventId[0], daily);
+    }
+}
@@ -0,0 +1,353 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.AnalyticsGroup;
+import com.finance.transaction.dto.AnalyticsResult;
+import com.finance.transaction.dto.TransactionFact;
+import com.finance.transaction.dto.TransactionSummary;
+import com.finance.transaction.model.AnalyticsGroupBy;
+import com.finance.transaction.model.PaymentMethod;
+import com.finance.transaction.model.TransactionType;
+import com.finance.common.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ek user ke transactions primitive column arrays mein (analytics store)
+ *
+ * Har row: id (long), epoch day (int), amount paise (long), type / payment method
+ * ordinal (byte), category dictionary id (int). Category naam sirf dictionary mein ek baar.
+ * Rows id ke order mein hain - sync ke time row binary search se milti hai.
+ *
+ * Instance immutable hai, har change naya instance deta hai. Append arrays ki spare
+ * capacity mein likhta hai aur arrays share karta hai (purane readers apne size se aage
+ * nahi padhte); update/delete/out-of-order append copy karte hain.
+ * Mutations serial hone chahiye (cache compute ke andar).
+ */
+final class TransactionColumns {
+
+    private static final int ROW_BYTES = 8 + 4 + 8 + 1 + 1 + 4;
+    private static final int MIN_CAPACITY = 16;
+    private static final byte NO_PAYMENT_METHOD = -1;
+    private static final byte INCOME = (byte) TransactionType.INCOME.ordinal();
+    private static final int ANY = -2;
+
+    private final long[] ids;
+    private final int[] epochDays;
+    private final long[] amounts;
+    private final byte[] types;
+    private final byte[] paymentMethods;
+    private final int[] categories;
+    private final int size;
+    private final String[] categoryNames;
+    private final Map<String, Integer> categoryIds;
+    private final long loadedAtNanos;
+
+    private TransactionColumns(long[] ids, int[] epochDays, long[] amounts, byte[] types,
+                               byte[] paymentMethods, int[] categories, int size,
+                               String[] categoryNames, Map<String, Integer> categoryIds,
+                               long loadedAtNanos) {
+        this.ids = ids;
+        this.epochDays = epochDays;
+        this.amounts = amounts;
+        this.types = types;
+        this.paymentMethods = paymentMethods;
+        this.categories = categories;
+        this.size = size;
+        this.categoryNames = categoryNames;
+        this.categoryIds = categoryIds;
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * DB se kab load hua - local sync isse aage nahi badhata (doosre instances ke writes ka TTL)
+     */
+    long loadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    /**
+     * Memory budget ke liye approx size - arrays ki poori capacity + dictionary
+     */
+    long sizeInBytes() {
+        long names = 0;
+        for (String name : categoryNames) {
+            names += 64 + 2L * name.length();
+        }
+        return 128 + (long) ids.length * ROW_BYTES + names;
+    }
+
+    /**
+     * Filter + aggregate ek tight loop mein. null filter = koi bhi value.
+     */
+    AnalyticsResult aggregate(LocalDate from, LocalDate to, TransactionType type,
+                              PaymentMethod paymentMethod, String category, AnalyticsGroupBy groupBy) {
+        int fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+        int typeCode = type != null ? type.ordinal() : ANY;
+        int paymentCode = paymentMethod != null ? paymentMethod.ordinal() : ANY;
+        int categoryCode = ANY;
+        if (category != null) {
+            Integer id = categoryIds.get(category);
+            if (id == null) {
+                return toResult(groupBy, new long[1], new long[1], new long[1]);
+            }
+            categoryCode = id;
+        }
+
+        int groups = switch (groupBy) {
+            case NONE -> 1;
+            case TYPE -> TransactionType.values().length;
+            case CATEGORY -> Math.max(1, categoryNames.length);
+            case PAYMENT_METHOD -> PaymentMethod.values().length + 1;
+        };
+        long[] income = new long[groups];
+        long[] expense = new long[groups];
+        long[] count = new long[groups];
+
+        for (int i = 0; i < size; i++) {
+            int day = epochDays[i];
+            if (day < fromDay || day > toDay
+                    || (typeCode != ANY && types[i] != typeCode)
+                    || (paymentCode != ANY && paymentMethods[i] != paymentCode)
+                    || (categoryCode != ANY && categories[i] != categoryCode)) {
+                continue;
+            }
+            int group = switch (groupBy) {
+                case NONE -> 0;
+                case TYPE -> types[i];
+                case CATEGORY -> categories[i];
+                case PAYMENT_METHOD -> paymentMethods[i] + 1;
+            };
+            if (types[i] == INCOME) {
+                income[group] = Math.addExact(income[group], amounts[i]);
+            } else {
+                expense[group] = Math.addExact(expense[group], amounts[i]);
+            }
+            count[group]++;
+        }
+        return toResult(groupBy, income, expense, count);
+    }
+
+    /**
+     * Naye rows - pehle se maujood ids skip (load ne commit ke baad wala data padh liya ho)
+     */
+    TransactionColumns append(Collection<TransactionFact> facts) {
+        List<TransactionFact> added = facts.stream()
+                .filter(fact -> indexOf(fact.getId()) < 0)
+                .sorted(Comparator.comparing(TransactionFact::getId))
+                .toList();
+        if (added.isEmpty()) {
+            return this;
+        }
+        boolean inOrder = size == 0 || added.get(0).getId() > ids[size - 1];
+        if (inOrder && size + added.size() <= ids.length && knowsCategories(added)) {
+            for (int i = 0; i < added.size(); i++) {
+                write(size + i, added.get(i));
+            }
+            return new TransactionColumns(ids, epochDays, amounts, types, paymentMethods,
+                    categories, size + added.size(), categoryNames, categoryIds, loadedAtNanos);
+        }
+
+        Builder builder = rebuild(size + added.size());
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            while (next < added.size() && added.get(next).getId() < ids[i]) {
+                builder.add(added.get(next++));
+            }
+            builder.copyRow(this, i);
+        }
+        while (next < added.size()) {
+            builder.add(added.get(next++));
+        }
+        return builder.build(loadedAtNanos);
+    }
+
+    /**
+     * Row ki nayi values - row na mile (load se pehle bana tha) to append
+     */
+    TransactionColumns replace(TransactionFact fact) {
+        int index = indexOf(fact.getId());
+        if (index < 0) {
+            return append(List.of(fact));
+        }
+        Builder builder = rebuild(ids.length);
+        for (int i = 0; i < size; i++) {
+            if (i == index) {
+                builder.add(fact);
+            } else {
+                builder.copyRow(this, i);
+            }
+        }
+        return builder.build(loadedAtNanos);
+    }
+
+    TransactionColumns remove(Long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return this;
+        }
+        Builder builder = rebuild(ids.length);
+        for (int i = 0; i < size; i++) {
+            if (i != index) {
+                builder.copyRow(this, i);
+            }
+        }
+        return builder.build(loadedAtNanos);
+    }
+
+    private int indexOf(Long id) {
+        return id == null ? -1 : Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    private boolean knowsCategories(List<TransactionFact> facts) {
+        return facts.stream().allMatch(fact -> categoryIds.containsKey(fact.getCategory()));
+    }
+
+    /**
+     * Naye arrays, wahi dictionary (ids stable rehte hain, copyRow seedha id copy karta hai)
+     */
+    private Builder rebuild(int capacity) {
+        return new Builder(capacity, new ArrayList<>(Arrays.asList(categoryNames)), new HashMap<>(categoryIds));
+    }
+
+    private void write(int index, TransactionFact fact) {
+        ids[index] = fact.getId();
+        epochDays[index] = (int) fact.getTransactionDate().toEpochDay();
+        amounts[index] = Money.toMinor(fact.getAmount());
+        types[index] = (byte) fact.getType().ordinal();
+        paymentMethods[index] = fact.getPaymentMethod() != null
+                ? (byte) fact.getPaymentMethod().ordinal() : NO_PAYMENT_METHOD;
+        categories[index] = categoryIds.get(fact.getCategory());
+    }
+
+    private AnalyticsResult toResult(AnalyticsGroupBy groupBy, long[] income, long[] expense, long[] count) {
+        long totalIncome = 0;
+        long totalExpense = 0;
+        long totalCount = 0;
+        List<AnalyticsGroup> groups = new ArrayList<>();
+        for (int group = 0; group < count.length; group++) {
+            totalIncome = Math.addExact(totalIncome, income[group]);
+            totalExpense = Math.addExact(totalExpense, expense[group]);
+            totalCount += count[group];
+            if (groupBy != AnalyticsGroupBy.NONE && count[group] > 0) {
+                groups.add(new AnalyticsGroup(groupKey(groupBy, group),
+                        summary(income[group], expense[group], count[group])));
+            }
+        }
+        groups.sort(Comparator.comparing(AnalyticsGroup::getKey,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return new AnalyticsResult(summary(totalIncome, totalExpense, totalCount), groups);
+    }
+
+    private String groupKey(AnalyticsGroupBy groupBy, int group) {
+        return switch (groupBy) {
+            case NONE -> null;
+            case TYPE -> TransactionType.values()[group].name();
+            case CATEGORY -> categoryNames[group];
+            case PAYMENT_METHOD -> group == 0 ? null : PaymentMethod.values()[group - 1].name();
+        };
+    }
+
+    private static TransactionSummary summary(long income, long expense, long count) {
+        return new TransactionSummary(Money.toBigDecimal(income), Money.toBigDecimal(expense),
+                Money.toBigDecimal(Math.subtractExact(income, expense)), count);
+    }
+
+    /**
+     * Rows id ke order mein add karo (load query ORDER BY id)
+     */
+    static final class Builder {
+
+        private long[] ids;
+        private int[] epochDays;
+        private long[] amounts;
+        private byte[] types;
+        private byte[] paymentMethods;
+        private int[] categories;
+        private int size;
+        private final List<String> categoryNames;
+        private final Map<String, Integer> categoryIds;
+
+        private Builder() {
+            this(MIN_CAPACITY, new ArrayList<>(), new HashMap<>());
+        }
+
+        private Builder(int capacity, List<String> categoryNames, Map<String, Integer> categoryIds) {
+            capacity = Math.max(MIN_CAPACITY, capacity);
+            this.ids = new long[capacity];
+            this.epochDays = new int[capacity];
+            this.amounts = new long[capacity];
+            this.types = new byte[capacity];
+            this.paymentMethods = new byte[capacity];
+            this.categories = new int[capacity];
+            this.categoryNames = categoryNames;
+            this.categoryIds = categoryIds;
+        }
+
+        Builder add(TransactionFact fact) {
+            ensureCapacity();
+            categoryIds.computeIfAbsent(fact.getCategory(), name -> {
+                categoryNames.add(name);
+                return categoryNames.size() - 1;
+            });
+            ids[size] = fact.getId();
+            epochDays[size] = (int) fact.getTransactionDate().toEpochDay();
+            amounts[size] = Money.toMinor(fact.getAmount());
+            types[size] = (byte) fact.getType().ordinal();
+            paymentMethods[size] = fact.getPaymentMethod() != null
+                    ? (byte) fact.getPaymentMethod().ordinal() : NO_PAYMENT_METHOD;
+            categories[size] = categoryIds.get(fact.getCategory());
+            size++;
+            return this;
+        }
+
+        private void copyRow(TransactionColumns source, int index) {
+            ensureCapacity();
+            ids[size] = source.ids[index];
+            epochDays[size] = source.epochDays[index];
+            amounts[size] = source.amounts[index];
+            types[size] = source.types[index];
+            paymentMethods[size] = source.paymentMethods[index];
+            categories[size] = source.categories[index];
+            size++;
+        }
+
+        TransactionColumns build(long loadedAtNanos) {
+            // Thodi spare capacity - aage ke appends bina copy ke
+            int capacity = Math.max(MIN_CAPACITY, size + size / 8);
+            return new TransactionColumns(
+                    Arrays.copyOf(ids, capacity), Arrays.copyOf(epochDays, capacity),
+                    Arrays.copyOf(amounts, capacity), Arrays.copyOf(types, capacity),
+                    Arrays.copyOf(paymentMethods, capacity), Arrays.copyOf(categories, capacity),
+                    size, categoryNames.toArray(String[]::new), Map.copyOf(categoryIds), loadedAtNanos);
+        }
+
+        private void ensureCapacity() {
+            if (size < ids.length) {
+                return;
+            }
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+            paymentMethods = Arrays.copyOf(paymentMethods, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+        }
+    }
+}
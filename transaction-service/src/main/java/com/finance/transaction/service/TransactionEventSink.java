@@ -0,0 +1,17 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.TransactionChangeEvent;
+
+import java.util.List;
+
+/**
+ * OutboxRelay ka destination (broker / queue / local)
+ *
+ * Events seq order mein aate hain. Exception = batch publish nahi hua -
+ * relay baad mein dobara bhejega (at-least-once), consumers eventId se dedupe karein.
+ * Doosra sink: apna bean banao aur transaction.outbox.sink ko "local" ke alawa kuch set karo.
+ */
+public interface TransactionEventSink {
+
+    void publish(List<TransactionChangeEvent> events);
+}
@@ -0,0 +1,132 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.TransactionResponse;
+import com.finance.transaction.model.ExportFormat;
+import com.finance.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Transaction Export Service
+ *
+ * Poori history CSV / NDJSON mein - rows forward-only JDBC cursor se aati hain
+ * aur turant output mein likhi jaati hain. Memory export size se independent hai.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER =
+            "id,userId,amount,type,category,description,transactionDate,paymentMethod";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * from/to optional hain - dono na hon to poori history
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, ExportFormat format, LocalDate from, LocalDate to,
+                       OutputStream out) throws IOException {
+        try (Stream<TransactionResponse> rows = openStream(userId, from, to)) {
+            long written = format == ExportFormat.CSV
+                    ? writeCsv(rows, out)
+                    : writeNdjson(rows, out);
+            log.info("Exported {} transactions for user {} as {}", written, userId, format);
+            return written;
+        }
+    }
+
+    private Stream<TransactionResponse> openStream(Long userId, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return transactionRepository.streamByUserId(userId);
+        }
+        return transactionRepository.streamByUserIdAndTransactionDateBetween(
+                userId,
+                from != null ? from : MIN_DATE,
+                to != null ? to : MAX_DATE);
+    }
+
+    private long writeCsv(Stream<TransactionResponse> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        for (TransactionResponse row : (Iterable<TransactionResponse>) rows::iterator) {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getUserId()));
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getType());
+            writer.write(',');
+            writeCsvField(writer, row.getCategory());
+            writer.write(',');
+            writeCsvField(writer, row.getDescription());
+            writer.write(',');
+            writer.write(row.getTransactionDate().toString());
+            writer.write(',');
+            writeCsvField(writer, row.getPaymentMethod());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * RFC 4180 - comma, quote ya newline ho to field quote karo, andar ke quotes double
+     */
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private long writeNdjson(Stream<TransactionResponse> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+        long count = 0;
+        for (TransactionResponse row : (Iterable<TransactionResponse>) rows::iterator) {
+            generator.writeObject(row);
+            count++;
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return count;
+    }
+}
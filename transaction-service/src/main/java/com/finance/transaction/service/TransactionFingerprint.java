@@ -0,0 +1,47 @@
+package com.finance.transaction.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Transaction ka content fingerprint
+ *
+ * Same amount + date + category + description (case/whitespace ignore) = same hash.
+ * V5 migration ka SQL backfill bhi exactly yahi formula use karta hai -
+ * yahan kuch badlo to naya migration bhi chahiye.
+ */
+public final class TransactionFingerprint {
+
+    private TransactionFingerprint() {
+    }
+
+    public static long of(BigDecimal amount, LocalDate transactionDate,
+                          String category, String description) {
+        String canonical = amount.setScale(2, RoundingMode.HALF_UP).toPlainString()
+                + '|' + transactionDate
+                + '|' + normalize(category)
+                + '|' + normalize(description);
+        return ByteBuffer.wrap(sha256(canonical)).getLong();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.RollupBucket;
+import com.finance.transaction.dto.TransactionChangeEvent;
+import com.finance.transaction.model.ChangeType;
+import com.finance.transaction.model.Transaction;
+import com.finance.transaction.model.TransactionType;
+import com.finance.common.CategoryDictionary;
+import com.finance.common.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transaction Outbox
+ *
+ * Har write ke change events transaction_outbox mein - usi DB transaction mein,
+ * isliye sirf committed changes ke events bante hain. OutboxRelay inhe publish karta hai.
+ *
+ * Ek call ke deltas (user, transaction, date, category, type) pe merge hote hain: batch ke
+ * ek din + category ka ek event, aur update jisme sirf description badla uska koi event nahi.
+ * user_totals delta ke baad call karo - us row lock ki wajah se ek user ke events
+ * commit order mein hi id paate hain.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction_outbox " +
+            "(user_id, transaction_id, change_type, type, category_id, transaction_date, amount_delta, count_delta) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        Map<EventKey, Delta> deltas = new LinkedHashMap<>();
+        add(deltas, transaction, transaction.getId(), 1);
+        insert(ChangeType.CREATED, deltas);
+    }
+
+    /**
+     * Batch / import chunk - transactionId ke bina, per day bucket
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        Map<EventKey, Delta> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            add(deltas, transaction, null, 1);
+        }
+        insert(ChangeType.CREATED, deltas);
+    }
+
+    /**
+     * previous = update se pehle ki copy, updated = nayi values
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Transaction previous, Transaction updated) {
+        Map<EventKey, Delta> deltas = new LinkedHashMap<>();
+        add(deltas, previous, updated.getId(), -1);
+        add(deltas, updated, updated.getId(), 1);
+        insert(ChangeType.UPDATED, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        Map<EventKey, Delta> deltas = new LinkedHashMap<>();
+        add(deltas, transaction, transaction.getId(), -1);
+        insert(ChangeType.DELETED, deltas);
+    }
+
+    /**
+     * Bulk delete / purge chunk - hatayi gayi rows ke daily buckets
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, List<RollupBucket> removedDaily) {
+        Map<EventKey, Delta> deltas = new LinkedHashMap<>();
+        for (RollupBucket bucket : removedDaily) {
+            merge(deltas, new EventKey(userId, null, bucket.getBucketDate(), bucket.getCategory(),
+                            TransactionType.valueOf(bucket.getType())),
+                    -Money.toMinor(bucket.getTotalAmount()), -bucket.getCount());
+        }
+        insert(ChangeType.DELETED, deltas);
+    }
+
+    /**
+     * Outbox row -> event (relay ka claim aur change feed dono yahi columns padhte hain)
+     */
+    TransactionChangeEvent toEvent(ResultSet rs) throws SQLException {
+        return new TransactionChangeEvent(
+                rs.getLong("id"),
+                rs.getLong("seq"),
+                rs.getLong("user_id"),
+                rs.getObject("transaction_id", Long.class),
+                rs.getString("change_type"),
+                rs.getString("type"),
+                categoryDictionary.nameOf(rs.getInt("category_id")),
+                rs.getObject("transaction_date", LocalDate.class),
+                rs.getBigDecimal("amount_delta"),
+                rs.getLong("count_delta"),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    private void add(Map<EventKey, Delta> deltas, Transaction transaction, Long transactionId, int sign) {
+        long amount = Money.toMinor(transaction.getAmount());
+        merge(deltas, new EventKey(transaction.getUserId(), transactionId, transaction.getTransactionDate(),
+                        transaction.getCategory(), transaction.getType()),
+                sign < 0 ? -amount : amount, sign);
+    }
+
+    private void merge(Map<EventKey, Delta> deltas, EventKey key, long amount, long count) {
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.amount = Math.addExact(delta.amount, amount);
+        delta.count += count;
+    }
+
+    private void insert(ChangeType changeType, Map<EventKey, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta.count != 0 || delta.amount != 0) {
+                rows.add(new Object[]{
+                        key.getUserId(),
+                        key.getTransactionId(),
+                        changeType.name(),
+                        key.getType().name(),
+                        categoryDictionary.idOf(key.getCategory()),
+                        Date.valueOf(key.getDate()),
+                        Money.toBigDecimal(delta.amount),
+                        delta.count
+                });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    @Value
+    private static class EventKey {
+        Long userId;
+        Long transactionId;
+        LocalDate date;
+        String category;
+        TransactionType type;
+    }
+
+    private static class Delta {
+        private long amount;
+        private long count;
+    }
+}
@@ -0,0 +1,163 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.PurgeJob;
+import com.finance.transaction.dto.RollupBucket;
+import com.finance.transaction.dto.TransactionSummary;
+import com.finance.transaction.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Transaction Purge Service
+ *
+ * Bahut bade deletes background mein chunks mein chalte hain.
+ * Har chunk apni chhoti DB transaction hai, isliye table/user row
+ * lambe time tak lock nahi rehti aur OLTP traffic chalta rehta hai.
+ */
+@Slf4j
+@Service
+public class TransactionPurgeService {
+
+    private final TransactionRepository transactionRepository;
+    private final UserTotalsService userTotalsService;
+    private final RollupService rollupService;
+    private final TransactionOutbox outbox;
+    private final TransactionCacheService cacheService;
+    private final TransactionAnalyticsService analyticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${transaction.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${transaction.purge.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${transaction.purge.retention-minutes:60}")
+    private long retentionMinutes;
+
+    public TransactionPurgeService(TransactionRepository transactionRepository,
+                                   UserTotalsService userTotalsService,
+                                   RollupService rollupService,
+                                   TransactionOutbox outbox,
+                                   TransactionCacheService cacheService,
+                                   TransactionAnalyticsService analyticsService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${transaction.purge.workers:2}") int workers) {
+        this.transactionRepository = transactionRepository;
+        this.userTotalsService = userTotalsService;
+        this.rollupService = rollupService;
+        this.outbox = outbox;
+        this.cacheService = cacheService;
+        this.analyticsService = analyticsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    public PurgeJob purgeAll(Long userId) {
+        return start(userId, "ALL",
+                page -> transactionRepository.findIdsByUserId(userId, page));
+    }
+
+    public PurgeJob purgeCategory(Long userId, String category) {
+        return start(userId, "CATEGORY:" + category,
+                page -> transactionRepository.findIdsByUserIdAndCategory(userId, category, page));
+    }
+
+    public PurgeJob purgeDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        return start(userId, "DATE_RANGE:" + startDate + ".." + endDate,
+                page -> transactionRepository.findIdsByUserIdAndDateRange(
+                        userId, startDate, endDate, page));
+    }
+
+    public Optional<PurgeJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PurgeJob start(Long userId, String scope, Function<Pageable, List<Long>> nextIds) {
+        evictFinishedJobs();
+
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), userId, scope,
+                "RUNNING", 0L, LocalDateTime.now(), null, null);
+        jobs.put(job.getJobId(), job);
+        executor.submit(() -> run(job, nextIds));
+        return job;
+    }
+
+    private void run(PurgeJob job, Function<Pageable, List<Long>> nextIds) {
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> deleteChunk(job.getUserId(), nextIds));
+                job.setDeletedCount(job.getDeletedCount() + deleted);
+                if (deleted > 0 && pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            } while (deleted > 0);
+
+            job.setStatus("COMPLETED");
+            log.info("Purge {} finished: {} rows deleted for user {}",
+                    job.getJobId(), job.getDeletedCount(), job.getUserId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.setStatus("FAILED");
+            job.setError("Interrupted");
+        } catch (Exception e) {
+            log.error("Purge {} failed: {}", job.getJobId(), e.getMessage());
+            job.setStatus("FAILED");
+            job.setError(e.getMessage());
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Ek chunk - lock, aggregate, delete, user_totals + rollup delta
+     */
+    private int deleteChunk(Long userId, Function<Pageable, List<Long>> nextIds) {
+        userTotalsService.lock(userId);
+        List<Long> ids = nextIds.apply(PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        TransactionSummary removed = transactionRepository.getSummaryByIds(ids);
+        List<RollupBucket> removedBuckets = transactionRepository.getDailyBucketsByIds(ids);
+        int deleted = transactionRepository.deleteAllByIds(ids);
+        userTotalsService.recordDeleted(userId, removed);
+        rollupService.recordDeleted(userId, removedBuckets);
+        outbox.recordDeleted(userId, removedBuckets);
+        cacheService.evictUser(userId);
+        analyticsService.evictUser(userId);
+        return deleted;
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(cutoff));
+    }
+}
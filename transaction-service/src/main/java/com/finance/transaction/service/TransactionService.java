@@ -1,17 +1,34 @@
 package com.finance.transaction.service;
 
+import com.finance.transaction.config.CacheConfig;
 import com.finance.transaction.dto.*;
 import com.finance.transaction.model.*;
 import com.finance.transaction.repository.TransactionRepository;
+import com.finance.common.CategoryDictionary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -19,105 +36,284 @@ import java.util.stream.Collectors;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final UserTotalsService userTotalsService;
+    private final RollupService rollupService;
+    private final TransactionCacheService cacheService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final DuplicateDetector duplicateDetector;
+    private final TransactionAnalyticsService analyticsService;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionOutbox outbox;
+
+    @Value("${transaction.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${transaction.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
 
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
-        Transaction transaction = new Transaction();
-        transaction.setUserId(request.getUserId());
-        transaction.setAmount(request.getAmount());
-        transaction.setType(TransactionType.valueOf(request.getType().toUpperCase()));
-        transaction.setCategory(request.getCategory());
-        transaction.setDescription(request.getDescription());
-        transaction.setTransactionDate(request.getTransactionDate());
-
-        if (request.getPaymentMethod() != null) {
-            transaction.setPaymentMethod(
-                    PaymentMethod.valueOf(request.getPaymentMethod().toUpperCase())
-            );
-        }
+        Transaction transaction = buildTransaction(request);
 
         Transaction saved = transactionRepository.save(transaction);
+        userTotalsService.recordCreated(saved);
+        rollupService.recordCreated(saved);
+        outbox.recordCreated(saved);
+        cacheService.evictUser(saved.getUserId());
+        duplicateDetector.record(saved.getUserId(), saved.getContentHash());
+        analyticsService.recordCreated(List.of(saved));
         return convertToResponse(saved);
     }
 
+    /**
+     * Batch Ingestion
+     *
+     * Har item alag se validate hota hai - invalid items reject, baaki save.
+     * Valid rows batchSize ke chunks mein persist hoti hain; har chunk ke baad
+     * flush + clear taaki persistence context chhota rahe aur inserts JDBC batch mein jaayein.
+     *
+     * skipDuplicates = already stored rows jaise items (content hash) save nahi hote.
+     * Batch ke andar ke identical items ek doosre ke duplicate nahi maane jaate.
+     */
+    @Transactional
+    public BatchResult createTransactions(List<TransactionRequest> requests, boolean skipDuplicates) {
+        if (requests.size() > maxBatchItems) {
+            throw new IllegalArgumentException(
+                    "Batch too large: " + requests.size() + " items (max " + maxBatchItems + ")");
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<Transaction> valid = new ArrayList<>(requests.size());
+        List<BatchItemResult> validResults = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequest request = requests.get(i);
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results.add(new BatchItemResult(i, false, false, null, errors));
+                continue;
+            }
+            BatchItemResult result = new BatchItemResult(i, true, false, null, null);
+            results.add(result);
+            valid.add(buildTransaction(request));
+            validResults.add(result);
+        }
+
+        Map<Long, Set<Long>> existing = skipDuplicates ? findExistingHashes(valid) : Map.of();
+
+        List<Transaction> chunk = new ArrayList<>(batchSize);
+        List<BatchItemResult> chunkResults = new ArrayList<>(batchSize);
+        int accepted = 0;
+        int duplicates = 0;
+
+        for (int i = 0; i < valid.size(); i++) {
+            Transaction transaction = valid.get(i);
+            BatchItemResult result = validResults.get(i);
+            if (existing.getOrDefault(transaction.getUserId(), Set.of())
+                    .contains(transaction.getContentHash())) {
+                result.setSuccess(false);
+                result.setDuplicate(true);
+                result.setErrors(List.of("Duplicate of an existing transaction"));
+                duplicates++;
+                continue;
+            }
+
+            chunk.add(transaction);
+            chunkResults.add(result);
+            accepted++;
+
+            if (chunk.size() == batchSize) {
+                persistChunk(chunk, chunkResults);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, chunkResults);
+        }
+
+        int rejected = requests.size() - valid.size();
+        log.info("Batch ingested: {} accepted, {} rejected, {} duplicates", accepted, rejected, duplicates);
+        return new BatchResult(accepted, rejected, duplicates, results);
+    }
+
+    /**
+     * Read paths DTO projection use karte hain - entities load nahi hoti
+     * readOnly se Hibernate flush/dirty checking skip karta hai
+     */
+    @Cacheable(cacheNames = CacheConfig.LIST_CACHE, key = "#userId")
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getAllTransactions(Long userId) {
-        return transactionRepository.findByUserId(userId)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserId(userId);
     }
 
+    @Cacheable(cacheNames = CacheConfig.TYPE_LIST_CACHE, key = "#userId + ':' + #type.toUpperCase()")
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByType(Long userId, String type) {
         TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
-        return transactionRepository.findByUserIdAndType(userId, transactionType)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserIdAndType(userId, transactionType);
     }
 
+    /**
+     * Summary user_totals read model se aata hai - history size se independent
+     */
+    @Cacheable(cacheNames = CacheConfig.SUMMARY_CACHE, key = "#userId")
     public TransactionSummary getTransactionSummary(Long userId) {
-        BigDecimal totalIncome = transactionRepository.calculateTotalIncome(userId);
-        BigDecimal totalExpense = transactionRepository.calculateTotalExpense(userId);
-        BigDecimal balance = totalIncome.subtract(totalExpense);
-        Long totalTransactions = (long) transactionRepository.findByUserId(userId).size();
-
-        return new TransactionSummary(totalIncome, totalExpense, balance, totalTransactions);
+        return userTotalsService.getSummary(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByDateRange(
             Long userId, LocalDate startDate, LocalDate endDate) {
-        return transactionRepository
-                .findByUserIdAndTransactionDateBetween(userId, startDate, endDate)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserIdAndDateRange(userId, startDate, endDate);
+    }
+
+    /**
+     * Keyset paginated reads
+     * limit maxPageSize se zyada ho to cap kar dete hain
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionsPage(Long userId, String cursor, int limit) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        return toPage(transactionRepository.findPageByUserId(
+                userId, after.getTransactionDate(), after.getId(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionsByTypePage(
+            Long userId, String type, String cursor, int limit) {
+        TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        return toPage(transactionRepository.findPageByUserIdAndType(
+                userId, transactionType, after.getTransactionDate(), after.getId(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionsByDateRangePage(
+            Long userId, LocalDate startDate, LocalDate endDate, String cursor, int limit) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        return toPage(transactionRepository.findPageByUserIdAndTransactionDateBetween(
+                userId, startDate, endDate, after.getTransactionDate(), after.getId(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Streaming reads - rows JDBC cursor se seedha response mein likhi jaati hain
+     * Poori list memory mein kabhi nahi banti
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTransactions(Long userId, OutputStream out) throws IOException {
+        try (Stream<TransactionResponse> rows = transactionRepository.streamByUserId(userId)) {
+            writeJsonArray(rows, out);
+        }
+    }
+
+    /**
+     * type controller pehle hi parse karta hai - response commit hone ke baad galat type 400 nahi ban sakta
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactionsByType(Long userId, TransactionType type, OutputStream out) throws IOException {
+        try (Stream<TransactionResponse> rows =
+                     transactionRepository.streamByUserIdAndType(userId, type)) {
+            writeJsonArray(rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamTransactionsByDateRange(
+            Long userId, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<TransactionResponse> rows = transactionRepository
+                .streamByUserIdAndTransactionDateBetween(userId, startDate, endDate)) {
+            writeJsonArray(rows, out);
+        }
     }
 
     @Transactional
     public void deleteTransaction(Long transactionId) {
         // Check if transaction exists
-        if (!transactionRepository.existsById(transactionId)) {
-            throw new RuntimeException("Transaction not found with id: " + transactionId);
-        }
-        transactionRepository.deleteById(transactionId);
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + transactionId));
+        transactionRepository.delete(transaction);
+        userTotalsService.recordDeleted(transaction);
+        rollupService.recordDeleted(transaction);
+        outbox.recordDeleted(transaction);
+        cacheService.evictUser(transaction.getUserId());
+        analyticsService.recordDeleted(transaction);
     }
 
     /**
      * Delete all transactions for a user
      * CAUTION: This will delete all transactions permanently!
+     *
+     * Ek set-based DELETE - rows memory mein load nahi hoti
+     * @return deleted rows
      */
     @Transactional
-    public void deleteAllTransactionsByUser(Long userId) {
-        List<Transaction> transactions = transactionRepository.findByUserId(userId);
-        if (transactions.isEmpty()) {
+    public int deleteAllTransactionsByUser(Long userId) {
+        userTotalsService.lock(userId);
+        TransactionSummary removed = transactionRepository.getSummary(userId);
+        if (removed.getTotalTransactions() == 0) {
             throw new RuntimeException("No transactions found for user id: " + userId);
         }
-        transactionRepository.deleteAll(transactions);
+        List<RollupBucket> removedBuckets = transactionRepository.getDailyBuckets(userId);
+        int deleted = transactionRepository.deleteAllByUserId(userId);
+        userTotalsService.recordDeleted(userId, removed);
+        rollupService.clearUser(userId);
+        outbox.recordDeleted(userId, removedBuckets);
+        cacheService.evictUser(userId);
+        analyticsService.evictUser(userId);
+        return deleted;
     }
 
     /**
      * Delete transactions by category for a user
      */
     @Transactional
-    public void deleteTransactionsByCategory(Long userId, String category) {
-        List<Transaction> transactions = transactionRepository.findByUserIdAndCategory(userId, category);
-        if (transactions.isEmpty()) {
+    public int deleteTransactionsByCategory(Long userId, String category) {
+        userTotalsService.lock(userId);
+        TransactionSummary removed = transactionRepository.getSummaryByCategory(userId, category);
+        if (removed.getTotalTransactions() == 0) {
             throw new RuntimeException("No transactions found for category: " + category);
         }
-        transactionRepository.deleteAll(transactions);
+        List<RollupBucket> removedBuckets =
+                transactionRepository.getDailyBucketsByCategory(userId, category);
+        int deleted = transactionRepository.deleteAllByUserIdAndCategory(userId, category);
+        userTotalsService.recordDeleted(userId, removed);
+        rollupService.recordDeleted(userId, removedBuckets);
+        outbox.recordDeleted(userId, removedBuckets);
+        cacheService.evictUser(userId);
+        analyticsService.evictUser(userId);
+        return deleted;
     }
 
     /**
      * Delete transactions by date range
      */
     @Transactional
-    public void deleteTransactionsByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        List<Transaction> transactions = transactionRepository
-                .findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
-        if (transactions.isEmpty()) {
+    public int deleteTransactionsByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        userTotalsService.lock(userId);
+        TransactionSummary removed =
+                transactionRepository.getSummaryByDateRange(userId, startDate, endDate);
+        if (removed.getTotalTransactions() == 0) {
             throw new RuntimeException("No transactions found in the given date range");
         }
-        transactionRepository.deleteAll(transactions);
+        List<RollupBucket> removedBuckets =
+                transactionRepository.getDailyBucketsByDateRange(userId, startDate, endDate);
+        int deleted = transactionRepository.deleteAllByUserIdAndDateRange(userId, startDate, endDate);
+        userTotalsService.recordDeleted(userId, removed);
+        rollupService.recordDeleted(userId, removedBuckets);
+        outbox.recordDeleted(userId, removedBuckets);
+        cacheService.evictUser(userId);
+        analyticsService.evictUser(userId);
+        return deleted;
     }
 
     /**
@@ -136,16 +332,27 @@ public class TransactionService {
         log.info("Updating transaction: {} -> Amount: {} -> {}",
                 id, transaction.getAmount(), request.getAmount());
 
+        Transaction previous = new Transaction();
+        BeanUtils.copyProperties(transaction, previous);
+
         // Update fields
         transaction.setAmount(request.getAmount());
         transaction.setType(TransactionType.valueOf(request.getType()));
         transaction.setCategory(request.getCategory());
+        categoryDictionary.register(request.getCategory());
         transaction.setDescription(request.getDescription());
         transaction.setTransactionDate(request.getTransactionDate());
         transaction.setPaymentMethod(PaymentMethod.valueOf(request.getPaymentMethod()));
+        transaction.setContentHash(contentHash(transaction));
 
         // Save updated transaction
         Transaction updated = transactionRepository.save(transaction);
+        userTotalsService.recordUpdated(previous, updated);
+        rollupService.recordUpdated(previous, updated);
+        outbox.recordUpdated(previous, updated);
+        cacheService.evictUser(updated.getUserId());
+        duplicateDetector.record(updated.getUserId(), updated.getContentHash());
+        analyticsService.recordUpdated(updated);
 
         log.info("Transaction updated successfully: {}", updated.getId());
 
@@ -154,6 +361,130 @@ public class TransactionService {
     
 
 
+    private void persistChunk(List<Transaction> chunk, List<BatchItemResult> chunkResults) {
+        List<Transaction> saved = transactionRepository.saveAll(chunk);
+        for (int i = 0; i < saved.size(); i++) {
+            chunkResults.get(i).setId(saved.get(i).getId());
+        }
+        userTotalsService.recordCreated(saved);
+        rollupService.recordCreated(saved);
+        outbox.recordCreated(saved);
+        cacheService.evictUsers(saved.stream().map(Transaction::getUserId).collect(Collectors.toSet()));
+        saved.forEach(transaction ->
+                duplicateDetector.record(transaction.getUserId(), transaction.getContentHash()));
+        analyticsService.recordCreated(saved);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+        chunkResults.clear();
+    }
+
+    /**
+     * Bean validation + enum values check - errors list khali matlab valid
+     */
+    private List<String> validate(TransactionRequest request) {
+        if (request == null) {
+            return List.of("Transaction is required");
+        }
+        List<String> errors = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (request.getType() != null && !isEnumValue(TransactionType.class, request.getType())) {
+            errors.add("Invalid type: " + request.getType());
+        }
+        if (request.getPaymentMethod() != null
+                && !isEnumValue(PaymentMethod.class, request.getPaymentMethod())) {
+            errors.add("Invalid payment method: " + request.getPaymentMethod());
+        }
+        return errors;
+    }
+
+    private <E extends Enum<E>> boolean isEnumValue(Class<E> enumType, String value) {
+        try {
+            Enum.valueOf(enumType, value.toUpperCase());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Transaction buildTransaction(TransactionRequest request) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(request.getUserId());
+        transaction.setAmount(request.getAmount());
+        transaction.setType(TransactionType.valueOf(request.getType().toUpperCase()));
+        transaction.setCategory(request.getCategory());
+        categoryDictionary.register(request.getCategory());
+        transaction.setDescription(request.getDescription());
+        transaction.setTransactionDate(request.getTransactionDate());
+
+        if (request.getPaymentMethod() != null) {
+            transaction.setPaymentMethod(
+                    PaymentMethod.valueOf(request.getPaymentMethod().toUpperCase())
+            );
+        }
+        transaction.setContentHash(contentHash(transaction));
+        return transaction;
+    }
+
+    private Long contentHash(Transaction transaction) {
+        return TransactionFingerprint.of(transaction.getAmount(), transaction.getTransactionDate(),
+                transaction.getCategory(), transaction.getDescription());
+    }
+
+    /**
+     * Per user: kaunse content hashes pehle se stored hain
+     */
+    private Map<Long, Set<Long>> findExistingHashes(List<Transaction> transactions) {
+        Map<Long, List<Long>> hashesByUser = transactions.stream()
+                .collect(Collectors.groupingBy(Transaction::getUserId,
+                        Collectors.mapping(Transaction::getContentHash, Collectors.toList())));
+        Map<Long, Set<Long>> existing = new HashMap<>();
+        hashesByUser.forEach((userId, hashes) -> {
+            Set<Long> found = duplicateDetector.findExisting(userId, hashes);
+            if (!found.isEmpty()) {
+                existing.put(userId, found);
+            }
+        });
+        return existing;
+    }
+
+    private int resolvePageSize(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * pageSize + 1 rows fetch hoti hain - extra row sirf hasMore batane ke liye
+     */
+    private TransactionPage toPage(List<TransactionResponse> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponse> content = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+        return new TransactionPage(content, nextCursor, hasMore);
+    }
+
+    /**
+     * Projection rows managed entities nahi hain - persistence context
+     * grow nahi hota, detach ki zarurat nahi
+     */
+    private void writeJsonArray(Stream<TransactionResponse> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.writeStartArray();
+        for (TransactionResponse response : (Iterable<TransactionResponse>) rows::iterator) {
+            generator.writeObject(response);
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
     private TransactionResponse convertToResponse(Transaction transaction) {
         return new TransactionResponse(
                 transaction.getId(),
@@ -0,0 +1,211 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.TotalsVerification;
+import com.finance.transaction.dto.TransactionSummary;
+import com.finance.transaction.model.Transaction;
+import com.finance.transaction.model.TransactionType;
+import com.finance.transaction.model.UserTotals;
+import com.finance.transaction.repository.TransactionRepository;
+import com.finance.transaction.repository.UserTotalsRepository;
+import com.finance.common.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * User Totals Service
+ *
+ * user_totals read model maintain karta hai.
+ * Write methods MANDATORY propagation use karte hain - delta hamesha
+ * usi DB transaction mein lagta hai jisme transaction row change hui.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserTotalsService {
+
+    private final UserTotalsRepository userTotalsRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionCacheService cacheService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        applyDelta(transaction.getUserId(), transaction.getType(), Money.of(transaction.getAmount()), 1);
+    }
+
+    /**
+     * Batch insert ke liye - har user ka combined delta ek update mein
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        Map<Long, List<Transaction>> byUser = transactions.stream()
+                .collect(Collectors.groupingBy(Transaction::getUserId));
+        byUser.forEach((userId, rows) -> applyDelta(userId, rows));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        applyDelta(transaction.getUserId(), transaction.getType(),
+                Money.of(transaction.getAmount()).negate(), -1);
+    }
+
+    /**
+     * Update = purani values hatao, nayi values jodo (ek hi combined delta)
+     * previous = update se pehle ki copy
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Transaction previous, Transaction updated) {
+        Money income = Money.ZERO;
+        Money expense = Money.ZERO;
+        if (previous.getType() == TransactionType.INCOME) {
+            income = income.minus(Money.of(previous.getAmount()));
+        } else {
+            expense = expense.minus(Money.of(previous.getAmount()));
+        }
+        if (updated.getType() == TransactionType.INCOME) {
+            income = income.plus(Money.of(updated.getAmount()));
+        } else {
+            expense = expense.plus(Money.of(updated.getAmount()));
+        }
+        applyDelta(updated.getUserId(), income, expense, 0);
+    }
+
+    /**
+     * Bulk delete ke liye - hatayi gayi rows ka aggregate ek update mein
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, TransactionSummary removed) {
+        applyDelta(userId, Money.of(removed.getTotalIncome()).negate(),
+                Money.of(removed.getTotalExpense()).negate(), -removed.getTotalTransactions());
+    }
+
+    /**
+     * Bulk delete se pehle call karo - transaction commit tak user ki row locked rehti hai
+     * Row na ho to pehle seed, taaki lock hamesha kisi row pe ho
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Long userId) {
+        userTotalsRepository.insertSeed(userId);
+        userTotalsRepository.lockByUserId(userId);
+    }
+
+    /**
+     * Summary O(1) - sirf ek primary key lookup
+     * Read-only: row na ho (rebuild ke beech) to base table se on-the-fly aggregate,
+     * kuch likhte nahi
+     */
+    @Transactional(readOnly = true)
+    public TransactionSummary getSummary(Long userId) {
+        return userTotalsRepository.findById(userId)
+                .map(this::toSummary)
+                .orElseGet(() -> transactionRepository.getSummary(userId));
+    }
+
+    /**
+     * Ek user ki row transactions table se dobara banao
+     */
+    @Transactional
+    public TransactionSummary rebuild(Long userId) {
+        userTotalsRepository.deleteByUserIdDirect(userId);
+        userTotalsRepository.insertSeed(userId);
+        cacheService.evictUser(userId);
+        return userTotalsRepository.findById(userId)
+                .map(this::toSummary)
+                .orElseThrow();
+    }
+
+    /**
+     * Poori user_totals table rebuild - ek set-based INSERT ... SELECT
+     */
+    @Transactional
+    public int rebuildAll() {
+        userTotalsRepository.deleteAllTotals();
+        int users = userTotalsRepository.insertAllFromTransactions();
+        log.info("user_totals rebuilt for {} users", users);
+        return users;
+    }
+
+    /**
+     * Stored totals ko base table se compare karo (kuch change nahi karta)
+     */
+    @Transactional(readOnly = true)
+    public TotalsVerification verify(Long userId) {
+        TransactionSummary actual = transactionRepository.getSummary(userId);
+        TransactionSummary stored = userTotalsRepository.findById(userId)
+                .map(this::toSummary)
+                .orElse(null);
+
+        boolean consistent = stored != null
+                ? matches(stored, actual)
+                : actual.getTotalTransactions() == 0;
+        if (!consistent) {
+            log.warn("user_totals drift for user {}: stored={} actual={}", userId, stored, actual);
+        }
+        return new TotalsVerification(userId, stored, actual, consistent);
+    }
+
+    /**
+     * Batch ka sum paise (long) mein - BigDecimal sirf final update pe banta hai
+     */
+    private void applyDelta(Long userId, List<Transaction> transactions) {
+        long income = 0;
+        long expense = 0;
+        for (Transaction transaction : transactions) {
+            long amount = Money.toMinor(transaction.getAmount());
+            if (transaction.getType() == TransactionType.INCOME) {
+                income = Math.addExact(income, amount);
+            } else {
+                expense = Math.addExact(expense, amount);
+            }
+        }
+        applyDelta(userId, Money.ofMinor(income), Money.ofMinor(expense), transactions.size());
+    }
+
+    private void applyDelta(Long userId, TransactionType type, Money amount, long countDelta) {
+        if (type == TransactionType.INCOME) {
+            applyDelta(userId, amount, Money.ZERO, countDelta);
+        } else {
+            applyDelta(userId, Money.ZERO, amount, countDelta);
+        }
+    }
+
+    /**
+     * UPDATE row lock leta hai (outbox ordering isi pe tiki hai).
+     * Row missing ho to INSERT ... ON CONFLICT DO NOTHING se seed - seed query auto-flush
+     * ke baad chalti hai, isliye current change already usme count hota hai.
+     * Seed kisi aur ne jeeta (0 rows) to uski row pe delta dobara lagao.
+     */
+    private void applyDelta(Long userId, Money incomeDelta, Money expenseDelta, long countDelta) {
+        BigDecimal income = incomeDelta.toBigDecimal();
+        BigDecimal expense = expenseDelta.toBigDecimal();
+        if (userTotalsRepository.applyDelta(userId, income, expense, countDelta) > 0) {
+            return;
+        }
+        if (userTotalsRepository.insertSeed(userId) == 0) {
+            userTotalsRepository.applyDelta(userId, income, expense, countDelta);
+        }
+    }
+
+    private boolean matches(TransactionSummary stored, TransactionSummary actual) {
+        return stored.getTotalIncome().compareTo(actual.getTotalIncome()) == 0
+                && stored.getTotalExpense().compareTo(actual.getTotalExpense()) == 0
+                && stored.getBalance().compareTo(actual.getBalance()) == 0
+                && stored.getTotalTransactions().equals(actual.getTotalTransactions());
+    }
+
+    private TransactionSummary toSummary(UserTotals totals) {
+        return new TransactionSummary(
+                totals.getTotalIncome(),
+                totals.getTotalExpense(),
+                totals.getBalance(),
+                totals.getTransactionCount()
+        );
+    }
+}
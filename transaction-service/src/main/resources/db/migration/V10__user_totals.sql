@@ -0,0 +1,23 @@
+-- user_totals read model - pehle sirf V1 mein tha, jo purane (ddl-auto) databases pe
+-- baseline ki wajah se skip hota hai. Isliye table aur backfill yahan, baseline ke upar.
+-- ddl-auto ne table pehle se bana di ho to IF NOT EXISTS / ON CONFLICT usko chhod dete hain
+
+CREATE TABLE IF NOT EXISTS user_totals (
+    user_id           BIGINT         NOT NULL,
+    total_income      NUMERIC(19, 2) NOT NULL,
+    total_expense     NUMERIC(19, 2) NOT NULL,
+    balance           NUMERIC(19, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+-- Har user ki row transactions se - summary pehli request pe seed ka wait nahi karti
+INSERT INTO user_totals (user_id, total_income, total_expense, balance, transaction_count)
+SELECT user_id,
+       SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END),
+       SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END),
+       SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END),
+       COUNT(*)
+FROM transactions
+GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
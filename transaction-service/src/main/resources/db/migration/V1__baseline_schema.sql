@@ -0,0 +1,18 @@
+-- Baseline schema - ddl-auto: update se bana hua schema, ab versioned
+-- Purane databases pe Flyway isko baseline karke skip karta hai (baseline-version: 1)
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id               BIGINT         NOT NULL,
+    user_id          BIGINT         NOT NULL,
+    amount           NUMERIC(15, 2) NOT NULL,
+    type             VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category         VARCHAR(50)    NOT NULL,
+    description      VARCHAR(500),
+    transaction_date DATE           NOT NULL,
+    payment_method   VARCHAR(20)
+        CHECK (payment_method IN ('CASH', 'CREDIT_CARD', 'DEBIT_CARD', 'UPI', 'NET_BANKING', 'OTHER')),
+    created_at       TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,8 @@
+-- IDENTITY se pooled sequence pe switch (allocationSize 50)
+-- Purane databases mein ids pehle se hain - sequence ko max(id) ke aage le jao
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('transactions_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM transactions));
@@ -0,0 +1,19 @@
+-- TransactionRepository ke access paths ke liye composite indexes
+-- Bade existing tables pe deploy se pehle yahi statements CREATE INDEX CONCURRENTLY
+-- ke saath manually chala do - IF NOT EXISTS ki wajah se ye migration phir no-op ho jaati hai
+
+-- findByUserId, date-range finders/deletes, keyset pages (transaction_date, id)
+-- INCLUDE columns se summary/range aggregates index-only scan ban jaate hain
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date
+    ON transactions (user_id, transaction_date, id)
+    INCLUDE (type, amount, category);
+
+-- findByUserIdAndType + type pages
+CREATE INDEX IF NOT EXISTS idx_transactions_user_type_date
+    ON transactions (user_id, type, transaction_date, id)
+    INCLUDE (amount);
+
+-- findByUserIdAndCategory, category deletes, GROUP BY category
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category
+    ON transactions (user_id, category, id)
+    INCLUDE (type, amount);
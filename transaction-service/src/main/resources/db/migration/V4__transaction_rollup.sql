@@ -0,0 +1,26 @@
+-- Per-category daily/monthly rollups - write paths delta upsert se maintain karte hain
+-- Primary key (user_id, granularity, bucket_date, ...) hi range reads ka index hai
+
+CREATE TABLE IF NOT EXISTS transaction_rollup (
+    user_id      BIGINT         NOT NULL,
+    granularity  VARCHAR(10)    NOT NULL CHECK (granularity IN ('DAY', 'MONTH')),
+    bucket_date  DATE           NOT NULL,
+    category     VARCHAR(50)    NOT NULL,
+    type         VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    total_amount NUMERIC(19, 2) NOT NULL,
+    txn_count    BIGINT         NOT NULL,
+    PRIMARY KEY (user_id, granularity, bucket_date, category, type)
+);
+
+-- Existing transactions se backfill
+INSERT INTO transaction_rollup (user_id, granularity, bucket_date, category, type, total_amount, txn_count)
+SELECT user_id, 'DAY', transaction_date, category, type, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, transaction_date, category, type
+ON CONFLICT DO NOTHING;
+
+INSERT INTO transaction_rollup (user_id, granularity, bucket_date, category, type, total_amount, txn_count)
+SELECT user_id, 'MONTH', CAST(date_trunc('month', transaction_date) AS DATE), category, type, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, CAST(date_trunc('month', transaction_date) AS DATE), category, type
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,20 @@
+-- Near-duplicate detection - (amount, date, category, description) ka 64-bit hash
+-- Formula TransactionFingerprint.of() jaisa hi hona chahiye:
+--   amount (scale 2) | yyyy-MM-dd | category | description
+--   text fields: whitespace collapse + trim + lowercase, null description = ''
+--   hash = SHA-256 ke pehle 8 bytes (big-endian, signed bigint)
+-- Bade tables pe backfill UPDATE lamba chal sakta hai - maintenance window mein chalao
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS content_hash BIGINT;
+
+UPDATE transactions
+SET content_hash = ('x' || encode(substring(sha256(convert_to(
+        amount::text || '|' ||
+        to_char(transaction_date, 'YYYY-MM-DD') || '|' ||
+        lower(btrim(regexp_replace(category, '\s+', ' ', 'g'))) || '|' ||
+        lower(btrim(regexp_replace(coalesce(description, ''), '\s+', ' ', 'g'))),
+        'UTF8')) from 1 for 8), 'hex'))::bit(64)::bigint
+WHERE content_hash IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_content_hash
+    ON transactions (user_id, content_hash);
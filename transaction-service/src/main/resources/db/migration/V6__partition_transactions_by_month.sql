@@ -0,0 +1,103 @@
+-- transactions ko transaction_date ke monthly range partitions mein todna
+--
+-- Date-range reads/deletes ab sirf apne mahino ke partitions scan karte hain (partition pruning),
+-- aur purane mahine poore partition drop karke hataye ja sakte hain (row-by-row DELETE nahi).
+--
+-- Partition ka naam: transactions_pYYYYMM. Jis mahine ka partition nahi hai uski rows
+-- transactions_default mein jaati hain. PartitionMaintenanceService aage ke partitions banata hai
+-- aur default mein aayi rows ke mahino ke partitions bhi (ensure_transactions_partition()
+-- default se us mahine ki rows move kar deta hai).
+--
+-- Primary key mein partition key hona zaroori hai, isliye PK (id, transaction_date).
+-- id ab bhi transactions_seq se unique aata hai.
+--
+-- Bade tables pe ye migration poori table copy karti hai - maintenance window mein chalao.
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+CREATE TABLE transactions (
+    id               BIGINT         NOT NULL,
+    user_id          BIGINT         NOT NULL,
+    amount           NUMERIC(15, 2) NOT NULL,
+    type             VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category         VARCHAR(50)    NOT NULL,
+    description      VARCHAR(500),
+    transaction_date DATE           NOT NULL,
+    payment_method   VARCHAR(20)
+        CHECK (payment_method IN ('CASH', 'CREDIT_CARD', 'DEBIT_CARD', 'UPI', 'NET_BANKING', 'OTHER')),
+    created_at       TIMESTAMP(6)   NOT NULL,
+    content_hash     BIGINT,
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Ek mahine ka partition banao (agar nahi hai). Default partition mein us mahine ki
+-- rows hon to pehle naye partition mein move hoti hain, phir attach.
+-- Advisory lock - multiple instances ek saath maintenance chalayein to bhi safe.
+CREATE OR REPLACE FUNCTION ensure_transactions_partition(p_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    v_from DATE := CAST(date_trunc('month', p_month) AS DATE);
+    v_to   DATE := CAST(date_trunc('month', p_month) + INTERVAL '1 month' AS DATE);
+    v_name TEXT := 'transactions_p' || to_char(p_month, 'YYYYMM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('transactions_partitions'));
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+    EXECUTE format('INSERT INTO %I SELECT * FROM transactions_default '
+                   'WHERE transaction_date >= %L AND transaction_date < %L', v_name, v_from, v_to);
+    EXECUTE format('DELETE FROM transactions_default '
+                   'WHERE transaction_date >= %L AND transaction_date < %L', v_from, v_to);
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_from, v_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Jin mahino mein data hai unke partitions + current se 3 mahine aage tak.
+-- Sirf data wale mahine - galat dates (jaise saal 0001) se hazaron khali partitions nahi bante.
+DO $$
+DECLARE
+    v_month DATE;
+BEGIN
+    FOR v_month IN
+        SELECT DISTINCT CAST(date_trunc('month', transaction_date) AS DATE) FROM transactions_legacy
+        UNION
+        SELECT CAST(generate_series(date_trunc('month', CURRENT_DATE),
+                                    date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                                    INTERVAL '1 month') AS DATE)
+    LOOP
+        PERFORM ensure_transactions_partition(v_month);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO transactions (id, user_id, amount, type, category, description,
+                          transaction_date, payment_method, created_at, content_hash)
+SELECT id, user_id, amount, type, category, description,
+       transaction_date, payment_method, created_at, content_hash
+FROM transactions_legacy;
+
+DROP TABLE transactions_legacy;
+
+-- V3/V5 wale indexes ab partitioned parent pe - har partition pe apne aap bante hain
+-- (ensure_transactions_partition ke ATTACH pe bhi)
+CREATE INDEX idx_transactions_user_date
+    ON transactions (user_id, transaction_date, id)
+    INCLUDE (type, amount, category);
+
+CREATE INDEX idx_transactions_user_type_date
+    ON transactions (user_id, type, transaction_date, id)
+    INCLUDE (amount);
+
+CREATE INDEX idx_transactions_user_category
+    ON transactions (user_id, category, id)
+    INCLUDE (type, amount);
+
+CREATE INDEX idx_transactions_user_content_hash
+    ON transactions (user_id, content_hash);
+
+ANALYZE transactions;
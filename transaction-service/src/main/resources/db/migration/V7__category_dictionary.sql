@@ -0,0 +1,41 @@
+-- Category dictionary - har row mein naam ki jagah chhota integer id
+-- budget-service ka categories table same schema hai (naam -> id, APIs naam hi lete/dete hain)
+-- transaction_rollup already aggregated hai, wahan naam hi rehta hai
+
+CREATE TABLE categories (
+    id   INTEGER      GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+INSERT INTO categories (name)
+SELECT category FROM transactions
+UNION
+SELECT category FROM transaction_rollup
+ORDER BY 1;
+
+ALTER TABLE transactions ADD COLUMN category_id INTEGER;
+
+UPDATE transactions t
+SET category_id = c.id
+FROM categories c
+WHERE c.name = t.category;
+
+ALTER TABLE transactions ALTER COLUMN category_id SET NOT NULL;
+
+ALTER TABLE transactions
+    ADD CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id);
+
+-- category wale dono indexes column ke saath drop hote hain - integer id pe dobara
+ALTER TABLE transactions DROP COLUMN category;
+
+CREATE INDEX idx_transactions_user_date
+    ON transactions (user_id, transaction_date, id)
+    INCLUDE (type, amount, category_id);
+
+CREATE INDEX idx_transactions_user_category
+    ON transactions (user_id, category_id, id)
+    INCLUDE (type, amount);
+
+ANALYZE transactions;
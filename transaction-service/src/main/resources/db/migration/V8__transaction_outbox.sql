@@ -0,0 +1,32 @@
+-- Transactional outbox - write paths change events usi DB transaction mein likhte hain,
+-- OutboxRelay unhe batches mein sink pe publish karta hai
+-- id = insert order (dedupe key), seq = publish order (relay assign karta hai, feed isi se padhta hai)
+
+CREATE SEQUENCE transaction_outbox_seq;
+
+CREATE TABLE transaction_outbox (
+    id               BIGINT         GENERATED ALWAYS AS IDENTITY,
+    seq              BIGINT,
+    user_id          BIGINT         NOT NULL,
+    transaction_id   BIGINT,
+    change_type      VARCHAR(10)    NOT NULL CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    type             VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category_id      INTEGER        NOT NULL REFERENCES categories (id),
+    transaction_date DATE           NOT NULL,
+    amount_delta     NUMERIC(19, 2) NOT NULL,
+    count_delta      BIGINT         NOT NULL,
+    created_at       TIMESTAMP(6)   NOT NULL DEFAULT now(),
+    published_at     TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+-- Relay ka claim - sirf unpublished rows
+CREATE INDEX idx_transaction_outbox_pending
+    ON transaction_outbox (id) WHERE seq IS NULL;
+
+CREATE UNIQUE INDEX idx_transaction_outbox_seq
+    ON transaction_outbox (seq);
+
+-- Retention cleanup
+CREATE INDEX idx_transaction_outbox_published
+    ON transaction_outbox (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Change feed snapshot user ka aakhri event id padhta hai (MAX(id) WHERE user_id = ?)
+CREATE INDEX idx_transaction_outbox_user
+    ON transaction_outbox (user_id, id);
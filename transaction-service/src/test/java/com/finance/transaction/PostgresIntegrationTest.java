@@ -0,0 +1,36 @@
+package com.finance.transaction;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests ka base - poora context, Flyway migrations ke saath Testcontainers Postgres pe
+ * (docker-compose wala hi postgres:15). Docker na ho to tests skip hote hain.
+ *
+ * Container saari test classes ke liye ek hi hai (cached Spring context usi se juda rehta hai),
+ * JVM band hone pe Testcontainers khud hata deta hai. Tests apne alag user ids use karte hain.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("transaction_db")
+            .withUrlParam("reWriteBatchedInserts", "true");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+        }
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
@@ -0,0 +1,115 @@
+package com.finance.transaction.bench;
+
+import com.finance.transaction.dto.AnalyticsResult;
+import com.finance.transaction.dto.TransactionSummary;
+import com.finance.transaction.model.AnalyticsGroupBy;
+import com.finance.transaction.model.TransactionType;
+import com.finance.transaction.repository.TransactionRepository;
+import com.finance.transaction.service.TransactionAnalyticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slicing analytics - in-memory columns (TransactionAnalyticsService.analyze) vs wahi sawaal
+ * TransactionRepository ki queries se. Ek seeded user, Postgres BenchSupport wala.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="AnalyticsBenchmark"
+ * columns* = cache garam (load ho chuka), coldLoad = har baar evict + load + aggregate
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    private static final long USER = BenchSupport.FIRST_USER;
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+    private static final String CATEGORY = "Bench3";
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionAnalyticsService analyticsService;
+    private TransactionRepository transactionRepository;
+
+    @Setup
+    public void setup() {
+        context = BenchSupport.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        analyticsService = context.getBean(TransactionAnalyticsService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        BenchSupport.seedUser(jdbcTemplate, USER, rows);
+        analyticsService.evictAll();
+        analyticsService.analyze(USER, null, null, null, null, null, AnalyticsGroupBy.NONE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchSupport.deleteUser(jdbcTemplate, USER);
+        context.close();
+    }
+
+    @Benchmark
+    public AnalyticsResult columnsSummaryByDateRange() {
+        return analyticsService.analyze(USER, null, null, null, FROM, TO, AnalyticsGroupBy.NONE);
+    }
+
+    @Benchmark
+    public TransactionSummary repositorySummaryByDateRange() {
+        return transactionRepository.getSummaryByDateRange(USER, FROM, TO);
+    }
+
+    @Benchmark
+    public AnalyticsResult columnsSummaryByCategory() {
+        return analyticsService.analyze(USER, null, CATEGORY, null, null, null, AnalyticsGroupBy.NONE);
+    }
+
+    @Benchmark
+    public TransactionSummary repositorySummaryByCategory() {
+        return transactionRepository.getSummaryByCategory(USER, CATEGORY);
+    }
+
+    /**
+     * Category-wise breakdown - repository mein iske sabse kareeb count by category hai
+     */
+    @Benchmark
+    public AnalyticsResult columnsGroupByCategory() {
+        return analyticsService.analyze(USER, TransactionType.EXPENSE, null, null, null, null,
+                AnalyticsGroupBy.CATEGORY);
+    }
+
+    @Benchmark
+    public List<Object[]> repositoryCountByCategory() {
+        return transactionRepository.getTransactionCountByCategory(USER);
+    }
+
+    /**
+     * Pehli query (ya ttl/eviction ke baad) - streaming load ka kharcha bhi isi mein
+     */
+    @Benchmark
+    public AnalyticsResult columnsColdLoad() {
+        analyticsService.evictAll();
+        return analyticsService.analyze(USER, null, null, null, FROM, TO, AnalyticsGroupBy.NONE);
+    }
+}
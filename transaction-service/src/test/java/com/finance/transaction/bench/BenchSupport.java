@@ -0,0 +1,83 @@
+package com.finance.transaction.bench;
+
+import com.finance.transaction.TransactionServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * DB wale benchmarks ke liye - poora Spring context (web ke bina) asli Postgres pe, aur seed data
+ *
+ * DB: SPRING_DATASOURCE_URL / SPRING_DATASOURCE_USERNAME / SPRING_DATASOURCE_PASSWORD env,
+ * warna application.yml wala localhost:5433 (docker-compose). Flyway schema khud bana deta hai.
+ * Benchmark users 9_900_000 se upar - seed har run mein unka purana data hata ke dobara bharta hai.
+ */
+final class BenchSupport {
+
+    static final long FIRST_USER = 9_900_000L;
+
+    private static final String SUMMARY_COLUMNS =
+            "SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END), " +
+            "SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), " +
+            "SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), COUNT(*) ";
+
+    private BenchSupport() {
+    }
+
+    /**
+     * Command line args - application.yml ke show-sql / DEBUG logging ko override karte hain
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        String[] args = new String[properties.length + 4];
+        args[0] = "--eureka.client.enabled=false";
+        args[1] = "--spring.jpa.show-sql=false";
+        args[2] = "--logging.level.root=WARN";
+        args[3] = "--logging.level.com.finance.transaction=WARN";
+        for (int i = 0; i < properties.length; i++) {
+            args[4 + i] = "--" + properties[i];
+        }
+        return new SpringApplicationBuilder(TransactionServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    /**
+     * Ek user ki rows: 2023-2024 ke din, har 4th INCOME, 8 categories, payment methods ghoomte hue.
+     * user_totals aur rollup bhi usi data se - app ke read paths ko wahi dikhe jo writes se banta.
+     * Ids user se nikalte hain (userId * 10M + n), transactions_seq se kabhi nahi takraate.
+     */
+    static void seedUser(JdbcTemplate jdbcTemplate, long userId, int rows) {
+        deleteUser(jdbcTemplate, userId);
+        jdbcTemplate.update("INSERT INTO categories (name) " +
+                "SELECT 'Bench' || c FROM generate_series(0, 7) c ON CONFLICT (name) DO NOTHING");
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, amount, type, category_id, description, " +
+                "transaction_date, payment_method, created_at) " +
+                "SELECT ? * 10000000 + g, ?, ((g::bigint * 7919) % 500000) / 100.0 + 1, " +
+                "CASE WHEN g % 4 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                "(SELECT id FROM categories WHERE name = 'Bench' || (g % 8)), " +
+                "'bench ' || g, DATE '2023-01-01' + (g % 730), " +
+                "(ARRAY['CASH', 'CREDIT_CARD', 'DEBIT_CARD', 'UPI', 'NET_BANKING', 'OTHER'])[1 + g % 6], now() " +
+                "FROM generate_series(1, ?) g", userId, userId, rows);
+        jdbcTemplate.update("INSERT INTO user_totals (user_id, total_income, total_expense, balance, " +
+                "transaction_count) SELECT ?, " + SUMMARY_COLUMNS + "FROM transactions WHERE user_id = ?",
+                userId, userId);
+        for (String granularity : new String[]{"DAY", "MONTH"}) {
+            String bucket = granularity.equals("DAY")
+                    ? "t.transaction_date" : "CAST(date_trunc('month', t.transaction_date) AS DATE)";
+            jdbcTemplate.update("INSERT INTO transaction_rollup (user_id, granularity, bucket_date, category, " +
+                    "type, total_amount, txn_count) " +
+                    "SELECT t.user_id, ?, " + bucket + ", c.name, t.type, SUM(t.amount), COUNT(*) " +
+                    "FROM transactions t JOIN categories c ON c.id = t.category_id WHERE t.user_id = ? " +
+                    "GROUP BY t.user_id, " + bucket + ", c.name, t.type", granularity, userId);
+        }
+        jdbcTemplate.execute("ANALYZE transactions");
+    }
+
+    static void deleteUser(JdbcTemplate jdbcTemplate, long userId) {
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM user_totals WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM transaction_rollup WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM transaction_outbox WHERE user_id = ?", userId);
+    }
+}
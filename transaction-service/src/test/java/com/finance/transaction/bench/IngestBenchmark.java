@@ -0,0 +1,108 @@
+package com.finance.transaction.bench;
+
+import com.finance.transaction.dto.BatchResult;
+import com.finance.transaction.dto.TransactionRequest;
+import com.finance.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion rows/sec - har row ek POST /api/transactions (createTransaction, apna DB transaction)
+ * vs POST /api/transactions/batch (createTransactions, JDBC insert batches). Dono mein user_totals,
+ * rollup, outbox aur caches ka kaam bhi hota hai - HTTP ke bina, service level pe.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="IngestBenchmark"
+ * Score = rows/s (ek invocation = ROWS rows). Har iteration ke baad user ki rows saaf.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+
+    private static final long USER = BenchSupport.FIRST_USER + 2;
+    private static final int ROWS = 1000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionService transactionService;
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        context = BenchSupport.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionService = context.getBean(TransactionService.class);
+        BenchSupport.deleteUser(jdbcTemplate, USER);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanIteration() {
+        BenchSupport.deleteUser(jdbcTemplate, USER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleInserts(Blackhole blackhole) {
+        for (TransactionRequest request : requests()) {
+            blackhole.consume(transactionService.createTransaction(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchResult batch() {
+        return transactionService.createTransactions(requests(), false);
+    }
+
+    /**
+     * Statement sync wala default - pehle stored content hashes ki lookup, phir insert
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchResult batchSkipDuplicates() {
+        return transactionService.createTransactions(requests(), true);
+    }
+
+    /**
+     * Har row alag (description mein counter) - duplicates kabhi nahi
+     */
+    private List<TransactionRequest> requests() {
+        List<TransactionRequest> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            requests.add(new TransactionRequest(USER, BigDecimal.valueOf(100 + n % 50_000, 2),
+                    n % 4 == 0 ? "INCOME" : "EXPENSE", "Bench" + n % 8, "ingest " + n,
+                    FIRST_DAY.plusDays(n % 366), "UPI"));
+        }
+        return requests;
+    }
+}
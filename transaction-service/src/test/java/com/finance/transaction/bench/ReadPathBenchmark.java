@@ -0,0 +1,104 @@
+package com.finance.transaction.bench;
+
+import com.finance.transaction.dto.TransactionResponse;
+import com.finance.transaction.model.Transaction;
+import com.finance.transaction.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10k rows ki list - purana raasta (managed entities + convertToResponse, read-write transaction,
+ * commit pe dirty checking) vs DTO projection readOnly transaction mein (ab ka getAllTransactions)
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ReadPathBenchmark -prof gc"
+ * gc.alloc.rate.norm = ek list read pe allocate hue bytes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    private static final long USER = BenchSupport.FIRST_USER + 3;
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readWriteTemplate;
+    private TransactionTemplate readOnlyTemplate;
+
+    @Setup
+    public void setup() {
+        context = BenchSupport.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        BenchSupport.seedUser(jdbcTemplate, USER, ROWS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchSupport.deleteUser(jdbcTemplate, USER);
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> legacyEntities() {
+        return readWriteTemplate.execute(status -> toResponses(transactionRepository.findByUserId(USER)));
+    }
+
+    /**
+     * Sirf readOnly - entities phir bhi banti hain, par flush/dirty checking nahi
+     */
+    @Benchmark
+    public List<TransactionResponse> readOnlyEntities() {
+        return readOnlyTemplate.execute(status -> toResponses(transactionRepository.findByUserId(USER)));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> readOnlyProjection() {
+        return readOnlyTemplate.execute(status -> transactionRepository.findResponsesByUserId(USER));
+    }
+
+    /**
+     * Purana TransactionService.convertToResponse
+     */
+    private static List<TransactionResponse> toResponses(List<Transaction> transactions) {
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            responses.add(new TransactionResponse(
+                    transaction.getId(),
+                    transaction.getUserId(),
+                    transaction.getAmount(),
+                    transaction.getType().name(),
+                    transaction.getCategory(),
+                    transaction.getDescription(),
+                    transaction.getTransactionDate(),
+                    transaction.getPaymentMethod() != null ? transaction.getPaymentMethod().name() : null));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,101 @@
+package com.finance.transaction.bench;
+
+import com.finance.transaction.dto.TransactionResponse;
+import com.finance.transaction.dto.TransactionSummary;
+import com.finance.transaction.repository.TransactionRepository;
+import com.finance.transaction.service.UserTotalsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction summary - purana raasta (income + expense queries + findByUserId().size())
+ * vs ek aggregate query vs user_totals read model, aur ek keyset page. 1k / 100k / 1M rows wala ek user.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="SummaryBenchmark -prof gc"
+ * gc.alloc.rate.norm = ek summary call pe allocate hue bytes (legacy mein saare entities)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SummaryBenchmark {
+
+    private static final long USER = BenchSupport.FIRST_USER + 1;
+    private static final LocalDate MIDDLE = LocalDate.of(2024, 1, 1);
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionRepository transactionRepository;
+    private UserTotalsService userTotalsService;
+
+    @Setup
+    public void setup() {
+        context = BenchSupport.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        userTotalsService = context.getBean(UserTotalsService.class);
+        BenchSupport.seedUser(jdbcTemplate, USER, rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchSupport.deleteUser(jdbcTemplate, USER);
+        context.close();
+    }
+
+    /**
+     * Pehle wala getTransactionSummary - teen round trips, count ke liye poori history hydrate
+     */
+    @Benchmark
+    public TransactionSummary legacyThreeQueries() {
+        BigDecimal income = transactionRepository.calculateTotalIncome(USER);
+        BigDecimal expense = transactionRepository.calculateTotalExpense(USER);
+        long count = transactionRepository.findByUserId(USER).size();
+        return new TransactionSummary(income, expense, income.subtract(expense), count);
+    }
+
+    @Benchmark
+    public TransactionSummary singleAggregate() {
+        return transactionRepository.getSummary(USER);
+    }
+
+    /**
+     * Ab ka getTransactionSummary (cache ke bina) - user_totals ki ek row
+     */
+    @Benchmark
+    public TransactionSummary userTotals() {
+        return userTotalsService.getSummary(USER);
+    }
+
+    /**
+     * Keyset page (100 rows) history ke beech se - rows badhne pe bhi ek page ka kharcha wahi
+     */
+    @Benchmark
+    public List<TransactionResponse> keysetMiddlePage() {
+        return transactionRepository.findPageByUserId(USER, MIDDLE, 0L, PageRequest.of(0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,127 @@
+package com.finance.transaction.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.transaction.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hot queries ke plans - seeded data pe EXPLAIN (FORMAT JSON), plan mein kahin bhi Seq Scan ho to fail
+ *
+ * SQL wahi hai jo UserTotalsRepository / TransactionRepository ki queries Hibernate se banti hai.
+ * enable_seqscan off: itne chhote seed pe planner seq scan hi chunta (sasta hai); off karne ke baad
+ * Seq Scan tabhi aata hai jab koi index us query ko serve hi na kar sake - wahi pakadna hai.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest extends PostgresIntegrationTest {
+
+    private static final long USER = 900_042;
+
+    private static final String SUMMARY_COLUMNS =
+            "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), 0), COUNT(*) ";
+
+    private static final String PAGE_COLUMNS =
+            "SELECT id, user_id, amount, type, category_id, description, transaction_date, payment_method ";
+
+    private static final String KEYSET =
+            "AND transaction_date >= DATE '2024-03-01' " +
+            "AND (transaction_date > DATE '2024-03-01' OR (transaction_date = DATE '2024-03-01' AND id > 0)) " +
+            "ORDER BY transaction_date, id LIMIT 101";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 500 users x 100 rows, 2023-2024 ke mahino mein faile hue, har user ki user_totals row
+     */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('PlanFood'), ('PlanRent') " +
+                "ON CONFLICT (name) DO NOTHING");
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, amount, type, category_id, description, " +
+                "transaction_date, payment_method, created_at) " +
+                "SELECT 900000000 + g, 900000 + g % 500, (g % 1000) + 0.5, " +
+                "CASE WHEN g % 4 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                "(SELECT id FROM categories WHERE name = CASE WHEN g % 2 = 0 THEN 'PlanFood' ELSE 'PlanRent' END), " +
+                "'seed', DATE '2023-01-01' + (g % 730), 'UPI', now() " +
+                "FROM generate_series(1, 50000) g");
+        jdbcTemplate.update("INSERT INTO user_totals (user_id, total_income, total_expense, balance, transaction_count) " +
+                "SELECT user_id, " + SUMMARY_COLUMNS + "FROM transactions WHERE user_id >= 900000 " +
+                "GROUP BY user_id ON CONFLICT (user_id) DO NOTHING");
+        jdbcTemplate.execute("ANALYZE transactions");
+        jdbcTemplate.execute("ANALYZE user_totals");
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                // UserTotalsRepository
+                Arguments.of("user_totals applyDelta",
+                        "UPDATE user_totals SET total_income = total_income + 1, total_expense = total_expense + 0, " +
+                        "balance = balance + 1, transaction_count = transaction_count + 1 WHERE user_id = " + USER),
+                Arguments.of("user_totals lockByUserId",
+                        "SELECT * FROM user_totals WHERE user_id = " + USER + " FOR UPDATE"),
+                Arguments.of("user_totals insertSeed",
+                        "INSERT INTO user_totals (user_id, total_income, total_expense, balance, transaction_count) " +
+                        "SELECT " + USER + ", " + SUMMARY_COLUMNS + "FROM transactions WHERE user_id = " + USER +
+                        " ON CONFLICT (user_id) DO NOTHING"),
+                // TransactionRepository - summary aggregates
+                Arguments.of("getSummary",
+                        "SELECT " + SUMMARY_COLUMNS + "FROM transactions WHERE user_id = " + USER),
+                Arguments.of("getSummaryByCategory",
+                        "SELECT " + SUMMARY_COLUMNS + "FROM transactions WHERE user_id = " + USER +
+                        " AND category_id = (SELECT id FROM categories WHERE name = 'PlanFood')"),
+                Arguments.of("getSummaryByDateRange",
+                        "SELECT " + SUMMARY_COLUMNS + "FROM transactions WHERE user_id = " + USER +
+                        " AND transaction_date BETWEEN DATE '2024-01-01' AND DATE '2024-03-31'"),
+                // TransactionRepository - keyset pages
+                Arguments.of("findPageByUserId",
+                        PAGE_COLUMNS + "FROM transactions WHERE user_id = " + USER + " " + KEYSET),
+                Arguments.of("findPageByUserIdAndType",
+                        PAGE_COLUMNS + "FROM transactions WHERE user_id = " + USER + " AND type = 'EXPENSE' " + KEYSET),
+                Arguments.of("findPageByUserIdAndTransactionDateBetween",
+                        PAGE_COLUMNS + "FROM transactions WHERE user_id = " + USER +
+                        " AND transaction_date BETWEEN DATE '2024-01-01' AND DATE '2024-06-30' " + KEYSET));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void usesIndexes(String name, String sql) throws Exception {
+        String plan = new TransactionTemplate(transactionManager).execute(tx -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        });
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), seqScans);
+        assertThat(seqScans).as("%s plan:%n%s", name, plan).isEmpty();
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.PostgresIntegrationTest;
+import com.finance.transaction.dto.ChangeFeedPage;
+import com.finance.transaction.dto.TransactionChangeEvent;
+import com.finance.transaction.dto.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox + relay - concurrent creates/deletes aur saath chalte relay ke baad har write ka event
+ * feed aur broker pe theek ek baar, seq badhte hue, aur deltas ka jod = table mein bachi rows
+ */
+class OutboxConsistencyTest extends PostgresIntegrationTest {
+
+    private static final long USER = 901_017;
+    private static final int WRITERS = 4;
+    private static final int OPS_PER_WRITER = 60;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private TransactionChangeFeed changeFeed;
+
+    @Autowired
+    private LocalEventBroker broker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentWritesArePublishedOnceInSeqOrder() throws Exception {
+        List<TransactionChangeEvent> received = new CopyOnWriteArrayList<>();
+        Consumer<TransactionChangeEvent> subscriber = event -> {
+            if (event.getUserId() == USER) {
+                received.add(event);
+            }
+        };
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger deleted = new AtomicInteger();
+        broker.subscribe(subscriber);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        try {
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Future<?> relaying = pool.submit(() -> {
+                while (writing.get()) {
+                    relay.publishBatch();
+                }
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> write(writer, created, deleted)));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            relaying.get();
+            while (relay.publishBatch() > 0) {
+                // bache hue outbox rows
+            }
+        } finally {
+            pool.shutdownNow();
+            broker.unsubscribe(subscriber);
+        }
+
+        List<TransactionChangeEvent> feed = readFeed();
+        assertThat(feed).extracting(TransactionChangeEvent::getSeq)
+                .doesNotHaveDuplicates()
+                .isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(feed).extracting(TransactionChangeEvent::getEventId).doesNotHaveDuplicates();
+        assertThat(received).extracting(TransactionChangeEvent::getEventId)
+                .containsExactlyElementsOf(feed.stream().map(TransactionChangeEvent::getEventId).toList());
+        assertThat(feed).filteredOn(event -> "CREATED".equals(event.getChangeType())).hasSize(created.get());
+        assertThat(feed).filteredOn(event -> "DELETED".equals(event.getChangeType())).hasSize(deleted.get());
+
+        for (String type : List.of("INCOME", "EXPENSE")) {
+            BigDecimal live = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND type = ?",
+                    BigDecimal.class, USER, type);
+            BigDecimal published = feed.stream()
+                    .filter(event -> type.equals(event.getType()))
+                    .map(TransactionChangeEvent::getAmountDelta)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertThat(published).as(type).isEqualByComparingTo(live);
+        }
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class, USER);
+        assertThat(feed.stream().mapToLong(TransactionChangeEvent::getCountDelta).sum()).isEqualTo(rows);
+    }
+
+    /**
+     * Har teesra op apni kisi pichhli row ka delete, baaki naye creates
+     */
+    private void write(int writer, AtomicInteger created, AtomicInteger deleted) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> ids = new ArrayList<>();
+        for (int n = 0; n < OPS_PER_WRITER; n++) {
+            if (n % 3 == 2 && !ids.isEmpty()) {
+                transactionService.deleteTransaction(ids.remove(random.nextInt(ids.size())));
+                deleted.incrementAndGet();
+            } else {
+                ids.add(transactionService.createTransaction(new TransactionRequest(USER,
+                        BigDecimal.valueOf(random.nextInt(100, 50_000), 2), n % 4 == 0 ? "INCOME" : "EXPENSE",
+                        n % 2 == 0 ? "OutboxFood" : "OutboxRent", "outbox " + writer + "-" + n,
+                        LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60)), "UPI")).getId());
+                created.incrementAndGet();
+            }
+        }
+    }
+
+    private List<TransactionChangeEvent> readFeed() {
+        List<TransactionChangeEvent> events = new ArrayList<>();
+        long after = 0;
+        while (true) {
+            ChangeFeedPage page = changeFeed.page(after, 1000);
+            if (page.getEvents().isEmpty()) {
+                return events;
+            }
+            for (TransactionChangeEvent event : page.getEvents()) {
+                if (event.getUserId() == USER) {
+                    events.add(event);
+                }
+            }
+            after = page.getEvents().get(page.getEvents().size() - 1).getSeq();
+        }
+    }
+}
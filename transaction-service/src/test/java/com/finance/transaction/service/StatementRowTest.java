@@ -0,0 +1,38 @@
+package com.finance.transaction.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement amounts - decimal comma vs thousands comma (CSV aur OFX dono yahi use karte hain)
+ */
+class StatementRowTest {
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', value = {
+            "1234.56     | 1234.56",
+            "-42.10      | -42.10",
+            // thousands comma
+            "1,234.56    | 1234.56",
+            "1,234,567   | 1234567",
+            "1,00,000.50 | 100000.50",
+            "1,000       | 1000",
+            "-12,345     | -12345",
+            // decimal comma
+            "12,5        | 12.5",
+            "-12,50      | -12.50",
+            "1.234,56    | 1234.56",
+            "1.234.567,8 | 1234567.8",
+            "1.234,567   | 1234.567",
+            // spaces = thousands
+            "1 234,56    | 1234.56",
+            "' 1 234.56 '| 1234.56"
+    })
+    void normalizeAmount(String raw, BigDecimal expected) {
+        assertThat(new BigDecimal(StatementRow.normalizeAmount(raw))).isEqualTo(expected);
+    }
+}
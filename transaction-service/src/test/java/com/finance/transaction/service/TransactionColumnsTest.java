@@ -0,0 +1,242 @@
+package com.finance.transaction.service;
+
+import com.finance.transaction.dto.AnalyticsGroup;
+import com.finance.transaction.dto.AnalyticsResult;
+import com.finance.transaction.dto.TransactionFact;
+import com.finance.transaction.dto.TransactionSummary;
+import com.finance.transaction.model.AnalyticsGroupBy;
+import com.finance.transaction.model.PaymentMethod;
+import com.finance.transaction.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Columnar store - sync operations (append / replace / remove) aur aggregate ke group keys
+ */
+class TransactionColumnsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Test
+    void appendInOrderSharesArraysWithoutChangingOldInstance() {
+        TransactionColumns before = columns(expense(1, "100.00", "Food"));
+
+        TransactionColumns after = before.append(List.of(expense(3, "1.50", "Food"), expense(2, "2.50", "Food")));
+
+        assertThat(after.size()).isEqualTo(3);
+        assertTotal(after, "0.00", "104.00", 3);
+        // Purana instance apne size tak hi padhta hai
+        assertThat(before.size()).isEqualTo(1);
+        assertTotal(before, "0.00", "100.00", 1);
+        // Sorted append - id 2 aur 3 dono binary search se milne chahiye
+        assertTotal(after.remove(2L), "0.00", "101.50", 2);
+        assertTotal(after.remove(3L), "0.00", "102.50", 2);
+    }
+
+    @Test
+    void appendInOrderWithNewCategory() {
+        TransactionColumns before = columns(
+                expense(1, "100.00", "Food"),
+                expense(2, "50.00", "Rent"));
+
+        TransactionColumns after = before.append(List.of(
+                expense(4, "25.00", "Food"),
+                income(3, "1000.00", "Salary")));
+
+        assertThat(after.size()).isEqualTo(4);
+        assertTotal(after, "1000.00", "175.00", 4);
+        assertThat(keys(after, AnalyticsGroupBy.CATEGORY)).containsExactly("Food", "Rent", "Salary");
+        assertThat(keys(before, AnalyticsGroupBy.CATEGORY)).containsExactly("Food", "Rent");
+        assertTotal(before, "0.00", "150.00", 2);
+    }
+
+    @Test
+    void appendOutOfOrderKeepsRowsSortedById() {
+        TransactionColumns before = columns(
+                expense(10, "10.00", "Food"),
+                expense(20, "20.00", "Food"));
+
+        TransactionColumns after = before.append(List.of(
+                expense(15, "15.00", "Food"),
+                expense(5, "5.00", "Food")));
+
+        assertThat(after.size()).isEqualTo(4);
+        assertTotal(after, "0.00", "50.00", 4);
+        assertTotal(before, "0.00", "30.00", 2);
+        // Har id apni jagah pe - remove/replace binary search se row dhundhte hain
+        for (long id : new long[]{5, 10, 15, 20}) {
+            TransactionColumns removed = after.remove(id);
+            assertThat(removed.size()).as("remove %d", id).isEqualTo(3);
+            assertTotal(removed, "0.00", new BigDecimal("50.00").subtract(BigDecimal.valueOf(id)).toPlainString(), 3);
+        }
+        assertTotal(after.replace(expense(15, "115.00", "Food")), "0.00", "150.00", 4);
+    }
+
+    @Test
+    void appendSkipsDuplicateIds() {
+        TransactionColumns before = columns(
+                expense(1, "100.00", "Food"),
+                expense(2, "50.00", "Food"));
+
+        // Sirf duplicates - kuch nahi badla
+        assertThat(before.append(List.of(expense(2, "999.00", "Food")))).isSameAs(before);
+
+        TransactionColumns after = before.append(List.of(
+                expense(2, "999.00", "Rent"),
+                expense(3, "10.00", "Food")));
+
+        assertThat(after.size()).isEqualTo(3);
+        assertTotal(after, "0.00", "160.00", 3);
+        assertThat(keys(after, AnalyticsGroupBy.CATEGORY)).containsExactly("Food");
+    }
+
+    @Test
+    void replaceMovesRowToNewCategory() {
+        TransactionColumns before = columns(
+                expense(1, "100.00", "Food"),
+                expense(2, "50.00", "Food"),
+                expense(3, "30.00", "Rent"));
+
+        TransactionColumns after = before.replace(expense(2, "70.00", "Travel"));
+
+        assertThat(after.size()).isEqualTo(3);
+        assertThat(groups(after, AnalyticsGroupBy.CATEGORY))
+                .extracting(AnalyticsGroup::getKey, group -> group.getSummary().getTotalExpense(),
+                        group -> group.getSummary().getTotalTransactions())
+                .containsExactly(
+                        tuple("Food", new BigDecimal("100.00"), 1L),
+                        tuple("Rent", new BigDecimal("30.00"), 1L),
+                        tuple("Travel", new BigDecimal("70.00"), 1L));
+        assertThat(aggregate(after, null, null, null, "Food", AnalyticsGroupBy.NONE).getTotal()
+                .getTotalExpense()).isEqualByComparingTo("100.00");
+        // Purana instance wahi ka wahi
+        assertThat(aggregate(before, null, null, null, "Food", AnalyticsGroupBy.NONE).getTotal()
+                .getTotalExpense()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void replaceUnknownIdAppends() {
+        TransactionColumns before = columns(expense(1, "100.00", "Food"));
+
+        TransactionColumns after = before.replace(income(2, "40.00", "Salary"));
+
+        assertThat(after.size()).isEqualTo(2);
+        assertTotal(after, "40.00", "100.00", 2);
+    }
+
+    @Test
+    void removeDropsOnlyThatRow() {
+        TransactionColumns before = columns(
+                expense(1, "100.00", "Food"),
+                income(2, "500.00", "Salary"),
+                expense(3, "30.00", "Rent"));
+
+        TransactionColumns after = before.remove(2L);
+
+        assertThat(after.size()).isEqualTo(2);
+        assertTotal(after, "0.00", "130.00", 2);
+        assertThat(keys(after, AnalyticsGroupBy.TYPE)).containsExactly("EXPENSE");
+        assertTotal(before, "500.00", "130.00", 3);
+
+        assertThat(after.remove(2L)).isSameAs(after);
+        assertThat(after.remove(null)).isSameAs(after);
+        assertThat(after.remove(1L).remove(3L).size()).isZero();
+        assertTotal(after.remove(1L).remove(3L), "0.00", "0.00", 0);
+    }
+
+    @Test
+    void groupByKeys() {
+        TransactionColumns columns = columns(
+                fact(1, "100.00", TransactionType.EXPENSE, PaymentMethod.UPI, "Food"),
+                fact(2, "20.00", TransactionType.EXPENSE, null, "Rent"),
+                fact(3, "300.00", TransactionType.INCOME, PaymentMethod.NET_BANKING, "Salary"),
+                fact(4, "5.00", TransactionType.EXPENSE, PaymentMethod.CASH, "Food"));
+
+        assertThat(groups(columns, AnalyticsGroupBy.NONE)).isEmpty();
+        assertThat(keys(columns, AnalyticsGroupBy.TYPE)).containsExactly("EXPENSE", "INCOME");
+        assertThat(keys(columns, AnalyticsGroupBy.CATEGORY)).containsExactly("Food", "Rent", "Salary");
+        // Bina payment method wali rows ka key null, sabse aakhir mein
+        assertThat(keys(columns, AnalyticsGroupBy.PAYMENT_METHOD))
+                .containsExactly("CASH", "NET_BANKING", "UPI", null);
+
+        assertThat(groups(columns, AnalyticsGroupBy.TYPE))
+                .extracting(AnalyticsGroup::getKey, group -> group.getSummary().getBalance())
+                .containsExactly(
+                        tuple("EXPENSE", new BigDecimal("-125.00")),
+                        tuple("INCOME", new BigDecimal("300.00")));
+    }
+
+    @Test
+    void filtersCombine() {
+        TransactionColumns columns = columns(
+                fact(1, "100.00", TransactionType.EXPENSE, PaymentMethod.UPI, "Food", DAY.minusDays(1)),
+                fact(2, "20.00", TransactionType.EXPENSE, PaymentMethod.UPI, "Food", DAY),
+                fact(3, "300.00", TransactionType.INCOME, PaymentMethod.UPI, "Food", DAY),
+                fact(4, "5.00", TransactionType.EXPENSE, PaymentMethod.CASH, "Food", DAY.plusDays(1)));
+
+        TransactionSummary total = aggregate(columns, DAY, DAY.plusDays(1), TransactionType.EXPENSE,
+                "Food", AnalyticsGroupBy.NONE).getTotal();
+        assertThat(total.getTotalExpense()).isEqualByComparingTo("25.00");
+        assertThat(total.getTotalTransactions()).isEqualTo(2);
+
+        assertThat(columns.aggregate(null, null, null, PaymentMethod.UPI, null, AnalyticsGroupBy.NONE)
+                .getTotal().getTotalTransactions()).isEqualTo(3);
+        // Dictionary mein hi nahi - koi row match nahi
+        AnalyticsResult unknown = aggregate(columns, null, null, null, "Unknown", AnalyticsGroupBy.CATEGORY);
+        assertThat(unknown.getTotal().getTotalTransactions()).isZero();
+        assertThat(unknown.getGroups()).isEmpty();
+    }
+
+    private static TransactionColumns columns(TransactionFact... facts) {
+        TransactionColumns.Builder builder = TransactionColumns.builder();
+        for (TransactionFact fact : facts) {
+            builder.add(fact);
+        }
+        return builder.build(0);
+    }
+
+    private static TransactionFact expense(long id, String amount, String category) {
+        return fact(id, amount, TransactionType.EXPENSE, PaymentMethod.UPI, category);
+    }
+
+    private static TransactionFact income(long id, String amount, String category) {
+        return fact(id, amount, TransactionType.INCOME, PaymentMethod.NET_BANKING, category);
+    }
+
+    private static TransactionFact fact(long id, String amount, TransactionType type,
+                                        PaymentMethod paymentMethod, String category) {
+        return fact(id, amount, type, paymentMethod, category, DAY);
+    }
+
+    private static TransactionFact fact(long id, String amount, TransactionType type,
+                                        PaymentMethod paymentMethod, String category, LocalDate date) {
+        return new TransactionFact(id, date, new BigDecimal(amount), type, paymentMethod, category);
+    }
+
+    private static AnalyticsResult aggregate(TransactionColumns columns, LocalDate from, LocalDate to,
+                                             TransactionType type, String category, AnalyticsGroupBy groupBy) {
+        return columns.aggregate(from, to, type, null, category, groupBy);
+    }
+
+    private static List<AnalyticsGroup> groups(TransactionColumns columns, AnalyticsGroupBy groupBy) {
+        return aggregate(columns, null, null, null, null, groupBy).getGroups();
+    }
+
+    private static List<String> keys(TransactionColumns columns, AnalyticsGroupBy groupBy) {
+        return groups(columns, groupBy).stream().map(AnalyticsGroup::getKey).toList();
+    }
+
+    private static void assertTotal(TransactionColumns columns, String income, String expense, long count) {
+        TransactionSummary total = aggregate(columns, null, null, null, null, AnalyticsGroupBy.NONE).getTotal();
+        assertThat(total.getTotalIncome()).isEqualByComparingTo(income);
+        assertThat(total.getTotalExpense()).isEqualByComparingTo(expense);
+        assertThat(total.getBalance()).isEqualByComparingTo(new BigDecimal(income).subtract(new BigDecimal(expense)));
+        assertThat(total.getTotalTransactions()).isEqualTo(count);
+    }
+}